@@ -0,0 +1,26 @@
+package bench;
+
+import functions.ArrayTabulatedFunction;
+import functions.LinkedListTabulatedFunction;
+import functions.SkipListTabulatedFunction;
+import functions.TabulatedFunctionFactory;
+
+// Соответствие значений @Param фабрикам табулированных функций
+final class Implementations {
+    private Implementations() {
+        throw new AssertionError("No instances");
+    }
+
+    static TabulatedFunctionFactory factory(String name) {
+        switch (name) {
+            case "ARRAY":
+                return new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory();
+            case "LINKED_LIST":
+                return new LinkedListTabulatedFunction.LinkedListTabulatedFunctionFactory();
+            case "SKIP_LIST":
+                return new SkipListTabulatedFunction.SkipListTabulatedFunctionFactory();
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + name);
+        }
+    }
+}
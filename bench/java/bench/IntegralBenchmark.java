@@ -0,0 +1,73 @@
+package bench;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Log;
+import functions.basic.Sin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Functions.integral на нагрузке Generator (логарифм на [1; 200]) и на составной функции.
+// Log интегрируется по первообразной (Integrable), поэтому метод трапеций с шагом step меряется
+// на той же функции за обёрткой без Integrable, а точный путь — отдельным замером без шага
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegralBenchmark {
+
+    // Шаг нужен только методу трапеций: точный интеграл от него не зависит и не размножается параметром
+    @State(Scope.Benchmark)
+    public static class StepParams {
+        @Param({"0.1", "0.001"})
+        public double step;
+    }
+
+    // Логарифм без Integrable: integral не находит первообразную и идёт по шагу
+    private static final class SampledLog implements Function {
+        private final Log log;
+
+        SampledLog(Log log) {
+            this.log = log;
+        }
+
+        @Override
+        public double getLeftDomainBorder() { return log.getLeftDomainBorder(); }
+        @Override
+        public double getRightDomainBorder() { return log.getRightDomainBorder(); }
+        @Override
+        public double getFunctionValue(double x) { return log.getFunctionValue(x); }
+        @Override
+        public void getFunctionValues(double[] xs, double[] out) { log.getFunctionValues(xs, out); }
+    }
+
+    private Function log;
+    private Function sampledLog;
+    private Function composite;
+
+    @Setup
+    public void setUp() {
+        Log base = new Log(2.5);
+        log = base;
+        sampledLog = new SampledLog(base);
+        composite = Functions.composition(new Sin(), Functions.mult(new Log(10), new Log(10)));
+    }
+
+    @Benchmark
+    public double logClosedForm() {
+        return Functions.integral(log, 1, 200, 1.0);
+    }
+
+    @Benchmark
+    public double logTrapezoid(StepParams params) {
+        return Functions.integral(sampledLog, 1, 200, params.step);
+    }
+
+    @Benchmark
+    public double composite(StepParams params) {
+        return Functions.integral(composite, 1, 200, params.step);
+    }
+}
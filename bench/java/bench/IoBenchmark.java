@@ -0,0 +1,64 @@
+package bench;
+
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Sin;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+// Бинарные output/input и текстовые write/read для табулированных функций
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IoBenchmark {
+
+    @Param({"1000", "100000"})
+    public int points;
+
+    private TabulatedFunction function;
+    private byte[] binary;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        function = TabulatedFunctions.tabulate(new Sin(), 0, 10, points);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TabulatedFunctions.outputTabulatedFunction(function, bytes);
+        binary = bytes.toByteArray();
+        StringWriter writer = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunction(function, writer);
+        text = writer.toString();
+    }
+
+    @Benchmark
+    public int outputBinary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length);
+        TabulatedFunctions.outputTabulatedFunction(function, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public TabulatedFunction inputBinary() {
+        return TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary));
+    }
+
+    @Benchmark
+    public int writeText() {
+        StringWriter out = new StringWriter(text.length());
+        TabulatedFunctions.writeTabulatedFunction(function, out);
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public TabulatedFunction readText() {
+        return TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import threads.Generator;
+import threads.Integrator;
+import threads.Pipeline;
+import threads.Task;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Пропускная способность передачи задач: пара Generator/Integrator на семафорах против конвейера
+// с многослотовой очередью. Вывод в консоль подавляется, чтобы измерять передачу и интегрирование
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final int TASKS = 200;
+
+    // Число интеграторов имеет смысл только для конвейера: пара на семафорах всегда один к одному,
+    // поэтому параметр вынесен в отдельное состояние и не размножает её замер
+    @State(Scope.Benchmark)
+    public static class PipelineParams {
+        @Param({"1", "4"})
+        public int integrators;
+    }
+
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void semaphoreHandoff() throws InterruptedException {
+        Task task = new Task();
+        task.setTasksCount(TASKS);
+        Semaphore dataReady = new Semaphore(0);
+        Semaphore dataProcessed = new Semaphore(1);
+        Generator generator = new Generator(task, dataReady, dataProcessed);
+        Integrator integrator = new Integrator(task, dataReady, dataProcessed);
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void boundedQueuePipeline(PipelineParams params) throws InterruptedException {
+        new Pipeline(TASKS, 1, params.integrators, 64, 8).run();
+    }
+}
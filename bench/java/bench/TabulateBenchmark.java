@@ -0,0 +1,49 @@
+package bench;
+
+import functions.Function;
+import functions.Functions;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Sin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// TabulatedFunctions.tabulate для простой и составной функции
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TabulateBenchmark {
+
+    @Param({"ARRAY", "LINKED_LIST"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int points;
+
+    private Function simple;
+    private Function composite;
+
+    @Setup
+    public void setUp() {
+        TabulatedFunctions.setTabulatedFunctionFactory(Implementations.factory(implementation));
+        simple = new Sin();
+        composite = Functions.sum(Functions.mult(new Sin(), new Cos()),
+                Functions.scale(Functions.shift(new Exp(), 1, 0), 2, 0.5));
+    }
+
+    @Benchmark
+    public TabulatedFunction simple() {
+        return TabulatedFunctions.tabulate(simple, 0, 10, points);
+    }
+
+    @Benchmark
+    public TabulatedFunction composite() {
+        return TabulatedFunctions.tabulate(composite, 0, 10, points);
+    }
+}
@@ -0,0 +1,57 @@
+package bench;
+
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Sin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// getFunctionValue на разных реализациях и размерах таблиц: случайные и монотонные запросы
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TabulatedLookupBenchmark {
+
+    @Param({"ARRAY", "LINKED_LIST", "SKIP_LIST"})
+    public String implementation;
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    private static final int QUERIES = 1024;
+
+    private TabulatedFunction function;
+    private double[] randomQueries;
+    private double[] sortedQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        TabulatedFunctions.setTabulatedFunctionFactory(Implementations.factory(implementation));
+        function = TabulatedFunctions.tabulate(new Sin(), 0, 100, size);
+        Random random = new Random(42);
+        randomQueries = new double[QUERIES];
+        sortedQueries = new double[QUERIES];
+        for (int i = 0; i < QUERIES; ++i) {
+            randomQueries[i] = 100 * random.nextDouble();
+            sortedQueries[i] = 100.0 * i / QUERIES;
+        }
+    }
+
+    @Benchmark
+    public double randomX() {
+        int i = next++ & (QUERIES - 1);
+        return function.getFunctionValue(randomQueries[i]);
+    }
+
+    @Benchmark
+    public double monotoneX() {
+        int i = next++ & (QUERIES - 1);
+        return function.getFunctionValue(sortedQueries[i]);
+    }
+}
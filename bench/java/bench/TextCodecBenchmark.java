@@ -0,0 +1,98 @@
+package bench;
+
+import functions.FunctionPoint;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Exp;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Текстовый кодек против прежних PrintWriter/StreamTokenizer (legacy*, скопированы из старой версии
+// TabulatedFunctions) и CSV-вариант. Данные без записи с порядком: StreamTokenizer её не разбирает
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextCodecBenchmark {
+
+    @Param({"1000", "100000"})
+    public int points;
+
+    private TabulatedFunction function;
+    private String text;
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        function = TabulatedFunctions.tabulate(new Exp(), 1, 11, points);
+        StringWriter writer = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunction(function, writer);
+        text = writer.toString();
+        StringWriter csvWriter = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunctionCsv(function, csvWriter);
+        csv = csvWriter.toString();
+    }
+
+    @Benchmark
+    public int writeText() {
+        StringWriter out = new StringWriter(text.length());
+        TabulatedFunctions.writeTabulatedFunction(function, out);
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public int legacyWriteText() {
+        StringWriter out = new StringWriter(text.length());
+        PrintWriter pw = new PrintWriter(new BufferedWriter(out));
+        int n = function.getPointsCount();
+        pw.print(n);
+        for (int i = 0; i < n; ++i) {
+            pw.print(' ');
+            pw.print(function.getPointX(i));
+            pw.print(' ');
+            pw.print(function.getPointY(i));
+        }
+        pw.println();
+        pw.flush();
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public int writeCsv() {
+        StringWriter out = new StringWriter(csv.length());
+        TabulatedFunctions.writeTabulatedFunctionCsv(function, out);
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public TabulatedFunction readText() {
+        return TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+    }
+
+    @Benchmark
+    public TabulatedFunction legacyReadText() throws IOException {
+        StreamTokenizer st = new StreamTokenizer(new StringReader(text));
+        st.parseNumbers();
+        st.nextToken();
+        int n = (int) st.nval;
+        List<FunctionPoint> list = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            st.nextToken();
+            double x = st.nval;
+            st.nextToken();
+            list.add(new FunctionPoint(x, st.nval));
+        }
+        return TabulatedFunctions.createTabulatedFunction(list.toArray(new FunctionPoint[0]));
+    }
+
+    @Benchmark
+    public TabulatedFunction readCsv() {
+        return TabulatedFunctions.readTabulatedFunctionCsv(new StringReader(csv));
+    }
+}
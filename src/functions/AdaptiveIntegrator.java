@@ -0,0 +1,108 @@
+package functions;
+
+import java.util.PriorityQueue;
+
+// Глобально-адаптивная квадратура Гаусса–Кронрода (7 и 15 узлов).
+// Каждый раз делится пополам отрезок с наибольшей оценкой погрешности |K15 - G7|,
+// пока суммарная оценка не станет меньше max(absTolerance, relTolerance * |I|)
+// или пока не будет исчерпан бюджет вычислений функции.
+final class AdaptiveIntegrator {
+    private AdaptiveIntegrator() {
+        throw new AssertionError("No instances");
+    }
+
+    // Узлы Кронрода на [-1; 1] (положительная половина, последний — центр)
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    // Веса Кронрода для узлов XGK
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // Веса Гаусса для узлов XGK[1], XGK[3], XGK[5], XGK[7]
+    private static final double[] WG = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
+    static final int NODES = 15; // вычислений функции на один отрезок
+
+    // Отрезок с оценкой интеграла и погрешности на нём
+    private static final class Segment {
+        final double a, b, value, error;
+
+        Segment(double a, double b, double value, double error) {
+            this.a = a; this.b = b; this.value = value; this.error = error;
+        }
+    }
+
+    static IntegrationResult integrate(Function f, double left, double right,
+                                       double absTolerance, double relTolerance, int maxEvaluations) {
+        double[] xs = new double[NODES];
+        double[] ys = new double[NODES];
+        PriorityQueue<Segment> queue = new PriorityQueue<>((s1, s2) -> Double.compare(s2.error, s1.error));
+
+        Segment whole = kronrod(f, left, right, xs, ys);
+        queue.add(whole);
+        int evaluations = NODES;
+        double value = whole.value;
+        double error = whole.error;
+
+        while (error > Math.max(absTolerance, relTolerance * Math.abs(value))
+                && evaluations + 2 * NODES <= maxEvaluations) {
+            Segment worst = queue.poll();
+            double mid = 0.5 * (worst.a + worst.b);
+            if (!(worst.a < mid && mid < worst.b)) { // отрезок больше не делится в double
+                queue.add(worst);
+                break;
+            }
+            Segment s1 = kronrod(f, worst.a, mid, xs, ys);
+            Segment s2 = kronrod(f, mid, worst.b, xs, ys);
+            evaluations += 2 * NODES;
+            queue.add(s1);
+            queue.add(s2);
+            value += s1.value + s2.value - worst.value;
+            error += s1.error + s2.error - worst.error;
+        }
+
+        // Итог пересчитывается заново, чтобы не накапливать ошибки вычитания
+        value = 0;
+        error = 0;
+        for (Segment s : queue) {
+            value += s.value;
+            error += s.error;
+        }
+        boolean converged = error <= Math.max(absTolerance, relTolerance * Math.abs(value));
+        return new IntegrationResult(value, error, evaluations, converged);
+    }
+
+    // Правило Кронрода 15 и вложенное правило Гаусса 7 на [a; b]; все узлы — одним пакетным вызовом
+    private static Segment kronrod(Function f, double a, double b, double[] xs, double[] ys) {
+        double center = 0.5 * (a + b);
+        double halfLength = 0.5 * (b - a);
+        for (int j = 0; j < 7; ++j) {
+            double dx = halfLength * XGK[j];
+            xs[2 * j] = center - dx;
+            xs[2 * j + 1] = center + dx;
+        }
+        xs[14] = center;
+        f.getFunctionValues(xs, ys);
+
+        double kronrod = WGK[7] * ys[14];
+        double gauss = WG[3] * ys[14];
+        for (int j = 0; j < 7; ++j) {
+            double pair = ys[2 * j] + ys[2 * j + 1];
+            kronrod += WGK[j] * pair;
+            if ((j & 1) == 1) gauss += WG[j / 2] * pair;
+        }
+        kronrod *= halfLength;
+        gauss *= halfLength;
+        return new Segment(a, b, kronrod, Math.abs(kronrod - gauss));
+    }
+}
@@ -1,10 +1,15 @@
 package functions;
 
-public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serializable, Cloneable {
+public class ArrayTabulatedFunction implements TabulatedFunction, Integrable, java.io.Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
 
     private int size;                 // текущее количество точек
     private FunctionPoint[] points;   // упорядоченный по x массив точек
+    private transient int lastSegment; // последний найденный сегмент (подсказка для поиска)
+    // Накопленные площади, создаются при первом integral. integral — операция чтения, и таблицу могут
+    // интегрировать несколько потоков сразу: индекс строится в локальную переменную и публикуется
+    // через volatile, поэтому читатель видит либо null, либо полностью построенный индекс
+    private transient volatile SegmentAreaIndex areaIndex;
 
     private static final double EPSILON = 1e-9;
 
@@ -94,6 +99,15 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
         }
     }
 
+    // Конструктор фабрики: массивы уже проверены TabulatedFunctions.checkPoints, по одному объекту на точку
+    private ArrayTabulatedFunction(double[] xs, double[] ys) {
+        this.size = xs.length;
+        this.points = new FunctionPoint[size];
+        for (int i = 0; i < size; ++i) {
+            points[i] = new FunctionPoint(xs[i], ys[i]);
+        }
+    }
+
     // Методы интерфейса TabulatedFunction
 
     // Количество точек в таблице
@@ -121,20 +135,147 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
         double left = points[0].getX();
         double right = points[size - 1].getX();
         if (lt(x, left) || gt(x, right)) return Double.NaN;
+        if (size == 1) return points[0].getY();
+
+        int i = findSegment(x);
+        double x0 = points[i].getX(), y0 = points[i].getY();
+        double x1 = points[i + 1].getX(), y1 = points[i + 1].getY();
+        // совпадение по x (левый узел проверяется первым, как при линейном проходе)
+        if (eq(x, x0)) return y0;
+        if (eq(x, x1)) return y1;
+        // интервал [xi, xi+1]
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
 
-        // совпадение по x
-        for (int i = 0; i < size; ++i) {
-            if (eq(x, points[i].getX())) return points[i].getY();
+    // Пакетное вычисление: для упорядоченного по возрастанию xs — один проход слиянием
+    // по сегментам таблицы, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        if (size < 2 || !TabulatedFunctions.isSorted(xs)) {
+            TabulatedFunction.super.getFunctionValues(xs, out);
+            return;
         }
-        // интервал [xi, xi+1]
-        for (int i = 0; i < size - 1; ++i) {
-            double x0 = points[i].getX(), y0 = points[i].getY();
-            double x1 = points[i + 1].getX(), y1 = points[i + 1].getY();
-            if (ge(x, x0) && le(x, x1)) {
-                return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+        double left = points[0].getX();
+        double right = points[size - 1].getX();
+        int last = size - 2;
+        int j = -1; // проход начинается с сегмента первого x внутри таблицы, а не с нулевого
+        for (int k = 0; k < xs.length; ++k) {
+            double x = xs[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (j < 0) j = findSegment(x);
+            while (j < last && points[j + 1].getX() <= x) j++;
+            double x0 = points[j].getX(), y0 = points[j].getY();
+            double x1 = points[j + 1].getX(), y1 = points[j + 1].getY();
+            if (eq(x, x0)) out[k] = y0;
+            else if (eq(x, x1)) out[k] = y1;
+            else out[k] = y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+        }
+        if (j >= 0) lastSegment = j; // следующая порция продолжит с этого сегмента
+    }
+
+    // Индекс сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к [0, size - 2]).
+    // Сначала проверяется последний найденный сегмент и его правый сосед, поэтому
+    // монотонные последовательности запросов (интегрирование, табуляция) находят
+    // сегмент за O(1) амортизированно; иначе — бинарный поиск за O(log n).
+    private int findSegment(double x) {
+        int last = size - 2;
+        int hint = lastSegment;
+        if (hint >= 0 && hint <= last) {
+            if (points[hint].getX() <= x) {
+                if (hint == last || x < points[hint + 1].getX()) return hint;
+                if (hint + 1 == last || x < points[hint + 2].getX()) return lastSegment = hint + 1;
             }
         }
-        return Double.NaN;
+        int lo = 0, hi = last;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (points[mid].getX() <= x) lo = mid;
+            else hi = mid - 1;
+        }
+        return lastSegment = lo;
+    }
+
+    // Интеграл кусочно-линейной интерполяции по [left; right] за O(log n): крайние сегменты
+    // считаются частично, середина — разностью накопленных площадей из индекса.
+    // Индекс строится при первом запросе и дальше обновляется при каждом изменении точек.
+    @Override
+    public double integral(double left, double right) {
+        if (!(left < right))
+            throw new IllegalArgumentException("left must be < right");
+        double a = points[0].getX(), b = points[size - 1].getX();
+        if (lt(left, a) || gt(right, b))
+            throw new IllegalArgumentException("Integration segment lies outside function domain");
+        left = Math.max(left, a);
+        right = Math.min(right, b);
+        SegmentAreaIndex index = areaIndex;
+        if (index == null) index = buildAreaIndex();
+
+        int i = findSegment(left);
+        int j = findSegment(right);
+        if (i == j) return partialArea(i, left, right);
+        return partialArea(i, left, points[i + 1].getX())
+                + (index.prefix(j) - index.prefix(i + 1))
+                + partialArea(j, points[j].getX(), right);
+    }
+
+    // Площадь под сегментом i на [lo; hi] внутри него
+    private double partialArea(int i, double lo, double hi) {
+        double x0 = points[i].getX(), y0 = points[i].getY();
+        double x1 = points[i + 1].getX(), y1 = points[i + 1].getY();
+        double yLo = (lo == x0) ? y0 : y0 + (y1 - y0) * (lo - x0) / (x1 - x0);
+        double yHi = (hi == x1) ? y1 : y0 + (y1 - y0) * (hi - x0) / (x1 - x0);
+        return (yLo + yHi) * (hi - lo) / 2.0;
+    }
+
+    // Площадь трапеции под сегментом [x_i; x_(i+1)]
+    private double segmentArea(int i) {
+        return (points[i].getY() + points[i + 1].getY()) * (points[i + 1].getX() - points[i].getX()) / 2.0;
+    }
+
+    private SegmentAreaIndex buildAreaIndex() {
+        double[] areas = new double[size - 1];
+        for (int i = 0; i < size - 1; ++i) {
+            areas[i] = segmentArea(i);
+        }
+        SegmentAreaIndex index = new SegmentAreaIndex(areas, size - 1);
+        areaIndex = index; // публикация уже построенного индекса
+        return index;
+    }
+
+    // Точка index изменилась: пересчитываются площади двух соседних сегментов
+    private void updateAreas(int index) {
+        if (areaIndex == null) return;
+        if (index > 0) areaIndex.set(index - 1, segmentArea(index - 1));
+        if (index < size - 1) areaIndex.set(index, segmentArea(index));
+    }
+
+    // Вставлена точка index: сегмент, в который она попала, делится на два
+    private void areasInserted(int index) {
+        if (areaIndex == null) return;
+        if (index == 0) {
+            areaIndex.insert(0, segmentArea(0));
+        } else if (index == size - 1) {
+            areaIndex.insert(index - 1, segmentArea(index - 1));
+        } else {
+            areaIndex.set(index - 1, segmentArea(index - 1));
+            areaIndex.insert(index, segmentArea(index));
+        }
+    }
+
+    // Удалена точка index (size уже уменьшен): два соседних сегмента сливаются в один
+    private void areasDeleted(int index) {
+        if (areaIndex == null) return;
+        if (index == 0) {
+            areaIndex.remove(0);
+        } else if (index == size) {
+            areaIndex.remove(index - 1);
+        } else {
+            areaIndex.remove(index);
+            areaIndex.set(index - 1, segmentArea(index - 1));
+        }
     }
 
     // Возвращает копию точки по индексу
@@ -159,6 +300,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
             if (!lt(newX, rightX)) throw new InappropriateFunctionPointException("x must be < right neighbor");
         }
         points[index] = new FunctionPoint(point); // копия (инкапсуляция)
+        updateAreas(index);
     }
 
     // Абсцисса x точки по индексу
@@ -180,12 +322,14 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
             double nextX = points[1].getX();
             if (!lt(x, nextX)) throw new InappropriateFunctionPointException("x must be < right neighbor");
             points[0].setX(x);
+            updateAreas(0);
             return;
         }
         if (index == size - 1) {
             double prevX = points[size - 2].getX();
             if (!gt(x, prevX)) throw new InappropriateFunctionPointException("x must be > left neighbor");
             points[size - 1].setX(x);
+            updateAreas(size - 1);
             return;
         }
         double leftX = points[index - 1].getX();
@@ -194,6 +338,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
             throw new InappropriateFunctionPointException("x must be strictly between neighbors");
         }
         points[index].setX(x);
+        updateAreas(index);
     }
 
     // Ордината y точки по индексу
@@ -208,6 +353,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
     public void setPointY(int index, double y) {
         requireIndex(index);
         points[index].setY(y);
+        updateAreas(index);
     }
 
     // Удаляет точку по индексу со сдвигом хвоста влево. Минимум 3 точки.
@@ -217,6 +363,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
         if (size < 3) throw new IllegalStateException("cannot delete when points count < 3");
         System.arraycopy(points, index + 1, points, index, size - index - 1);
         points[--size] = null;
+        areasDeleted(index);
     }
 
     // Добавляет новую точку и сохраняет порядок по x (эпсилон — только для поиска позиции)
@@ -245,6 +392,48 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
         // Вставляем копию точки
         points[insertIndex] = new FunctionPoint(point); // копия
         size++;
+        areasInserted(insertIndex);
+    }
+
+    // Добавляет партию точек за O(n + m log m): партия упорядочивается и проверяется целиком,
+    // затем сливается с массивом с конца на месте, без сдвига на каждую точку
+    @Override
+    public void addPoints(FunctionPoint[] newPoints) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.prepareBatch(this, newPoints); // копии
+        int m = batch.length;
+        if (m == 0) return;
+        if (size + m > points.length) {
+            points = java.util.Arrays.copyOf(points, Math.max(size + m, points.length * 3 / 2 + 1));
+        }
+        int i = size - 1, j = m - 1;
+        for (int k = size + m - 1; j >= 0; --k) {
+            if (i >= 0 && points[i].getX() > batch[j].getX()) points[k] = points[i--];
+            else points[k] = batch[j--];
+        }
+        size += m;
+        areaIndex = null; // индекс площадей перестроится при следующем integral
+    }
+
+    // Удаляет точки [from; to) одним сдвигом хвоста
+    @Override
+    public void deleteRange(int from, int to) {
+        TabulatedFunctions.checkRange(size, from, to);
+        int removed = to - from;
+        if (removed == 0) return;
+        System.arraycopy(points, to, points, from, size - to);
+        java.util.Arrays.fill(points, size - removed, size, null);
+        size -= removed;
+        areaIndex = null;
+    }
+
+    // Заменяет все y за один проход
+    @Override
+    public void setPointsY(double[] ys) {
+        TabulatedFunctions.checkValues(size, ys);
+        for (int i = 0; i < size; ++i) {
+            points[i].setY(ys[i]);
+        }
+        areaIndex = null;
     }
 
     //  ЛР5:
@@ -347,6 +536,12 @@ public class ArrayTabulatedFunction implements TabulatedFunction, java.io.Serial
     public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
         return new ArrayTabulatedFunction(points);
     }
+
+    @Override
+    public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+        TabulatedFunctions.checkPoints(xs, ys);
+        return new ArrayTabulatedFunction(xs, ys);
+    }
 }
 
 
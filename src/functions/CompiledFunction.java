@@ -0,0 +1,26 @@
+package functions;
+
+// Результат Functions.compile: дерево функций, собранное в одну цепочку MethodHandle.
+// Область определения и точный интеграл берутся у исходного дерева (getSource).
+public abstract class CompiledFunction implements Function {
+    private final Function source;
+
+    CompiledFunction(Function source) {
+        this.source = source;
+    }
+
+    // Исходное (упрощённое) дерево, из которого получена эта функция
+    public Function getSource() {
+        return source;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return source.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return source.getRightDomainBorder();
+    }
+}
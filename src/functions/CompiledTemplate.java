@@ -0,0 +1,42 @@
+package functions;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+// Шаблон скомпилированной функции. Напрямую не используется: FunctionCompiler определяет по байткоду
+// этого класса скрытый класс на каждое дерево и передаёт цепочку как classData. Цепочка лежит
+// в static final поле, поэтому JIT считает её константой и встраивает всё дерево в getFunctionValue.
+final class CompiledTemplate extends CompiledFunction {
+    private static final MethodHandle HANDLE = classData();
+
+    private static MethodHandle classData() {
+        try {
+            return MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    CompiledTemplate(Function source) {
+        super(source);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        try {
+            return (double) HANDLE.invokeExact(x);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+package functions;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * Табулированная функция для совместного использования потоками: читатели не блокируются,
+ * писатели выполняются по одному.
+ *
+ * Точки хранятся в неизменяемой по длине и порядку паре массивов (Table). Операции, меняющие
+ * количество точек (addPoint, deletePoint, пакетные), строят новую пару и публикуют её целиком,
+ * поэтому читатель никогда не видит таблицу с нарушенным порядком по x. setPointY, setPointX и setPoint
+ * пишут на место под блокировкой записи (новый x заранее проверен и лежит строго между соседями).
+ *
+ * Чтение идёт через оптимистичный штамп StampedLock: значение вычисляется без блокировки и
+ * принимается, только если за это время не было записи; иначе чтение повторяется под блокировкой чтения.
+ * Итератор, toString, equals и hashCode работают с согласованным снимком точек.
+ *
+ * Исключения:
+ *  IllegalArgumentException: некорректные параметры конструкторов
+ *  FunctionPointIndexOutOfBoundsException: неверный индекс точки
+ *  InappropriateFunctionPointException: нарушен порядок по x или повтор x
+ *  IllegalStateException: попытка удалить точку при количестве < 3
+ */
+public class ConcurrentTabulatedFunction implements TabulatedFunction, java.io.Serializable, Cloneable {
+    private static final long serialVersionUID = 1L;
+
+    private static final double EPSILON = 1e-9;
+    private static boolean eq(double a, double b) { return Math.abs(a - b) <= EPSILON; }
+    private static boolean lt(double a, double b) { return a <  b - EPSILON; }
+    private static boolean gt(double a, double b) { return a >  b + EPSILON; }
+
+    // Пара массивов одной длины; длина и порядок x после публикации не меняются
+    private static final class Table implements java.io.Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final double[] xs;
+        final double[] ys;
+
+        Table(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        int size() {
+            return xs.length;
+        }
+
+        // Индекс сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к [0, size - 2])
+        int findSegment(double x) {
+            int lo = 0, hi = xs.length - 2;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (xs[mid] <= x) lo = mid;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+
+        double value(double x) {
+            int n = xs.length;
+            if (lt(x, xs[0]) || gt(x, xs[n - 1])) return Double.NaN;
+            int i = findSegment(x);
+            double x0 = xs[i], x1 = xs[i + 1];
+            if (eq(x, x0)) return ys[i];
+            if (eq(x, x1)) return ys[i + 1];
+            return ys[i] + (ys[i + 1] - ys[i]) * (x - x0) / (x1 - x0);
+        }
+
+        // Значения для упорядоченного по возрастанию аргумента — один проход слиянием
+        void sortedValues(double[] args, double[] out) {
+            int last = xs.length - 2;
+            double left = xs[0], right = xs[last + 1];
+            int j = -1; // проход начинается с сегмента первого x внутри таблицы, а не с нулевого
+            for (int k = 0; k < args.length; ++k) {
+                double x = args[k];
+                if (lt(x, left) || gt(x, right)) {
+                    out[k] = Double.NaN;
+                    continue;
+                }
+                if (j < 0) j = findSegment(x);
+                while (j < last && xs[j + 1] <= x) j++;
+                double x0 = xs[j], x1 = xs[j + 1];
+                if (eq(x, x0)) out[k] = ys[j];
+                else if (eq(x, x1)) out[k] = ys[j + 1];
+                else out[k] = ys[j] + (ys[j + 1] - ys[j]) * (x - x0) / (x1 - x0);
+            }
+        }
+
+        Table copy() {
+            return new Table(xs.clone(), ys.clone());
+        }
+    }
+
+    private transient StampedLock lock = new StampedLock();
+    private volatile Table table;
+
+    // Конструктор получающий все точки сразу, в виде массива
+    public ConcurrentTabulatedFunction(FunctionPoint[] arr) {
+        if (arr == null || arr.length < 2) // если точек < 2
+            throw new IllegalArgumentException("At least 2 points required");
+        // Проверка строгого порядка по x и отсутствия дублирования x
+        for (int i = 1; i < arr.length; ++i) {
+            if (!lt(arr[i - 1].getX(), arr[i].getX()))
+                throw new IllegalArgumentException("Points must be strictly increasing by x");
+        }
+        double[] xs = new double[arr.length];
+        double[] ys = new double[arr.length];
+        for (int i = 0; i < arr.length; ++i) {
+            xs[i] = arr[i].getX();
+            ys[i] = arr[i].getY();
+        }
+        this.table = new Table(xs, ys);
+    }
+
+    // Конструктор [leftX; rightX], pointsCount точек, все y=0
+    public ConcurrentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be >= 2");
+        }
+        this.table = new Table(grid(leftX, rightX, pointsCount), new double[pointsCount]);
+    }
+
+    // Конструктор: [leftX; rightX], значения y — из массива
+    public ConcurrentTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (values == null || values.length < 2) {
+            throw new IllegalArgumentException("values length must be >= 2");
+        }
+        this.table = new Table(grid(leftX, rightX, values.length), values.clone());
+    }
+
+    // Потокобезопасная копия любой табулированной функции
+    public ConcurrentTabulatedFunction(TabulatedFunction source) {
+        if (source == null) throw new IllegalArgumentException("source is null");
+        int n = source.getPointsCount();
+        if (n < 2) throw new IllegalArgumentException("At least 2 points required");
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int i = 0;
+        for (FunctionPoint p : source) {
+            xs[i] = p.getX();
+            ys[i] = p.getY();
+            i++;
+        }
+        this.table = new Table(xs, ys);
+    }
+
+    private ConcurrentTabulatedFunction(Table table) {
+        this.table = table;
+    }
+
+    private static double[] grid(double leftX, double rightX, int count) {
+        double[] xs = new double[count];
+        double step = (rightX - leftX) / (count - 1);
+        for (int i = 0; i < count; ++i) {
+            xs[i] = leftX + i * step;
+        }
+        return xs;
+    }
+
+    private static void requireIndex(Table t, int index) {
+        if (index < 0 || index >= t.size()) {
+            throw new FunctionPointIndexOutOfBoundsException("index=" + index);
+        }
+    }
+
+    // Согласованный снимок точек: копия берётся оптимистично, при конфликте — под блокировкой чтения
+    private Table snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        Table copy = table.copy();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                copy = table.copy();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return copy;
+    }
+
+    // Методы интерфейса TabulatedFunction (чтение)
+
+    @Override
+    public int getPointsCount() {
+        return table.size();
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return borderX(false);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return borderX(true);
+    }
+
+    // Крайний x читается вместе с длиной той же версии таблицы
+    private double borderX(boolean right) {
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        double x = t.xs[right ? t.size() - 1 : 0];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                t = table;
+                x = t.xs[right ? t.size() - 1 : 0];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return x;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        long stamp = lock.tryOptimisticRead();
+        double value = table.value(x);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = table.value(x);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    // Пакетное вычисление: весь пакет считается по одной версии таблицы
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        if (!TabulatedFunctions.isSorted(xs)) {
+            TabulatedFunction.super.getFunctionValues(xs, out);
+            return;
+        }
+        // при вычислении на месте (out == xs) аргументы нужны для повтора
+        double[] args = (out == xs) ? xs.clone() : xs;
+        long stamp = lock.tryOptimisticRead();
+        table.sortedValues(args, out);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                table.sortedValues(args, out);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        if (index >= 0 && index < t.size()) {
+            double x = t.xs[index], y = t.ys[index];
+            if (lock.validate(stamp)) return new FunctionPoint(x, y);
+        }
+        stamp = lock.readLock();
+        try {
+            t = table;
+            requireIndex(t, index);
+            return new FunctionPoint(t.xs[index], t.ys[index]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public double getPointX(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        if (index >= 0 && index < t.size()) {
+            double x = t.xs[index];
+            if (lock.validate(stamp)) return x;
+        }
+        stamp = lock.readLock();
+        try {
+            t = table;
+            requireIndex(t, index);
+            return t.xs[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        if (index >= 0 && index < t.size()) {
+            double y = t.ys[index];
+            if (lock.validate(stamp)) return y;
+        }
+        stamp = lock.readLock();
+        try {
+            t = table;
+            requireIndex(t, index);
+            return t.ys[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Методы интерфейса TabulatedFunction (запись, по одному писателю)
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            requireIndex(t, index);
+            checkNeighbors(t, index, point.getX());
+            t.xs[index] = point.getX();
+            t.ys[index] = point.getY();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            requireIndex(t, index);
+            checkNeighbors(t, index, x);
+            t.xs[index] = x;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Новый x должен остаться строго между соседями
+    private static void checkNeighbors(Table t, int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && !gt(x, t.xs[index - 1]))
+            throw new InappropriateFunctionPointException("x must be > left neighbor");
+        if (index < t.size() - 1 && !lt(x, t.xs[index + 1]))
+            throw new InappropriateFunctionPointException("x must be < right neighbor");
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            requireIndex(t, index);
+            t.ys[index] = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setPointsY(double[] ys) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            TabulatedFunctions.checkValues(t.size(), ys);
+            System.arraycopy(ys, 0, t.ys, 0, ys.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Удаление публикует новую таблицу без точки. Минимум 3 точки.
+    @Override
+    public void deletePoint(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            requireIndex(t, index);
+            if (t.size() < 3) throw new IllegalStateException("cannot delete when points count < 3");
+            table = without(t, index, index + 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deleteRange(int from, int to) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            TabulatedFunctions.checkRange(t.size(), from, to);
+            if (from < to) table = without(t, from, to);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static Table without(Table t, int from, int to) {
+        int n = t.size() - (to - from);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        System.arraycopy(t.xs, 0, xs, 0, from);
+        System.arraycopy(t.ys, 0, ys, 0, from);
+        System.arraycopy(t.xs, to, xs, from, t.size() - to);
+        System.arraycopy(t.ys, to, ys, from, t.size() - to);
+        return new Table(xs, ys);
+    }
+
+    // Добавление публикует новую таблицу с точкой на своём месте
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        addPoints(new FunctionPoint[] { point });
+    }
+
+    // Партия упорядочивается до захвата блокировки; слияние с таблицей и проверка повторов x
+    // выполняются под блокировкой записи, новая таблица публикуется только при успехе
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.sortedBatch(points);
+        if (batch.length == 0) return;
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int n = t.size(), m = batch.length;
+            double[] xs = new double[n + m];
+            double[] ys = new double[n + m];
+            int i = 0, j = 0;
+            for (int k = 0; k < n + m; ++k) {
+                if (j == m || (i < n && lt(t.xs[i], batch[j].getX()))) {
+                    xs[k] = t.xs[i];
+                    ys[k] = t.ys[i];
+                    i++;
+                } else {
+                    if (i < n && eq(t.xs[i], batch[j].getX()))
+                        throw new InappropriateFunctionPointException("duplicate x: " + batch[j].getX());
+                    xs[k] = batch[j].getX();
+                    ys[k] = batch[j].getY();
+                    j++;
+                }
+            }
+            table = new Table(xs, ys);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        Table t = snapshot();
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < t.size(); ++i) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(t.xs[i]).append("; ").append(t.ys[i]).append(')');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) { // Равенство, если длина и все (x,y) совпадают с точностью EPSILON
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction tf)) return false;
+        Table t = snapshot();
+        if (t.size() != tf.getPointsCount()) return false;
+        int i = 0;
+        for (FunctionPoint p : tf) {
+            if (i >= t.size() || !eq(t.xs[i], p.getX()) || !eq(t.ys[i], p.getY())) return false;
+            i++;
+        }
+        return i == t.size();
+    }
+
+    // Хеш совместим с остальными реализациями
+    @Override
+    public int hashCode() {
+        Table t = snapshot();
+        int h = t.size();
+        for (int i = 0; i < t.size(); ++i) {
+            int ph = new FunctionPoint(t.xs[i], t.ys[i]).hashCode();
+            h ^= Integer.rotateLeft(ph, (i & 15));
+        }
+        return h;
+    }
+
+    // Копия — независимая таблица со своей блокировкой
+    @Override
+    public ConcurrentTabulatedFunction clone() {
+        return new ConcurrentTabulatedFunction(snapshot());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new StampedLock();
+    }
+
+    // итератор по снимку, сделанному при создании: изменения после этого момента не видны
+    @Override
+    public java.util.Iterator<FunctionPoint> iterator() {
+        Table t = snapshot();
+        return new java.util.Iterator<FunctionPoint>() {
+            private int index = 0;
+            @Override
+            public boolean hasNext() {
+                return index < t.size();
+            }
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext())
+                    throw new java.util.NoSuchElementException("Все точки уже обработаны");
+                FunctionPoint p = new FunctionPoint(t.xs[index], t.ys[index]);
+                index++;
+                return p;
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Метод remove() не реализован для данного итератора");
+            }
+        };
+    }
+
+    // фабрика
+    public static class ConcurrentTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new ConcurrentTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new ConcurrentTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new ConcurrentTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+            TabulatedFunctions.checkPoints(xs, ys);
+            // свои массивы становятся таблицей как есть, чужие копируются
+            return new ConcurrentTabulatedFunction(owned ? new Table(xs, ys) : new Table(xs.clone(), ys.clone()));
+        }
+    }
+}
@@ -4,4 +4,12 @@ public interface Function {
     double getLeftDomainBorder(); // возвращает значение левой границы области определения функции
     double getRightDomainBorder(); // возвращает значение правой границы области определения функции
     double getFunctionValue(double x); // возвращает значение функции в заданной точке
+
+    // Пакетное вычисление: out[i] = getFunctionValue(xs[i]) для всех i < xs.length.
+    // out должен быть не короче xs; допускается out == xs (вычисление на месте).
+    default void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package functions;
+
+import functions.basic.*;
+import functions.meta.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/*
+ * Компиляция дерева функций для Functions.compile. Дерево сначала упрощается (FunctionOptimizer),
+ * затем каждый оставшийся узел functions.basic и functions.meta превращается в комбинатор MethodHandle с той же
+ * арифметикой, что и его getFunctionValue. Остальные функции (табулированные, пользовательские)
+ * остаются в цепочке как вызов getFunctionValue у самого объекта.
+ *
+ * Готовая цепочка передаётся как classData скрытому классу, определённому по байткоду CompiledTemplate;
+ * если байткод недоступен, возвращается HandleFunction с той же цепочкой.
+ */
+final class FunctionCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodType TERNARY = MethodType.methodType(double.class, double.class, double.class, double.class);
+
+    private static final MethodHandle SIN, COS, TAN, EXP, LOG, POW, INT_POW;
+    private static final MethodHandle ADD, MUL, AFFINE, APPLY;
+
+    static {
+        try {
+            SIN = LOOKUP.findStatic(Math.class, "sin", UNARY);
+            COS = LOOKUP.findStatic(Math.class, "cos", UNARY);
+            TAN = LOOKUP.findStatic(Math.class, "tan", UNARY);
+            EXP = LOOKUP.findStatic(Math.class, "exp", UNARY);
+            POW = LOOKUP.findStatic(Math.class, "pow", BINARY);
+            LOG = LOOKUP.findStatic(FunctionCompiler.class, "log", BINARY);
+            INT_POW = LOOKUP.findStatic(IntegerPower.class, "pow",
+                    MethodType.methodType(double.class, double.class, int.class));
+            ADD = LOOKUP.findStatic(FunctionCompiler.class, "add", BINARY);
+            MUL = LOOKUP.findStatic(FunctionCompiler.class, "mul", BINARY);
+            AFFINE = LOOKUP.findStatic(FunctionCompiler.class, "affine", TERNARY);
+            APPLY = LOOKUP.findVirtual(Function.class, "getFunctionValue", UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Байткод шаблона; null, если загрузчик не отдаёт .class как ресурс
+    private static final byte[] TEMPLATE = templateBytes();
+
+    private FunctionCompiler() {
+        throw new AssertionError("No instances");
+    }
+
+    static CompiledFunction compile(Function f) {
+        Function source = FunctionOptimizer.optimize(f);
+        MethodHandle handle = handleOf(source);
+        if (TEMPLATE != null) {
+            try {
+                MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, handle, true);
+                MethodHandle constructor = hidden.findConstructor(hidden.lookupClass(),
+                        MethodType.methodType(void.class, Function.class));
+                return (CompiledFunction) constructor.invoke(source);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // скрытый класс определить не удалось — та же цепочка в обычном поле
+            }
+        }
+        return new HandleFunction(source, handle);
+    }
+
+    // Цепочка (double)double для узла дерева
+    private static MethodHandle handleOf(Function f) {
+        if (f instanceof CompiledFunction c) {
+            return handleOf(c.getSource());
+        }
+        if (f instanceof Sin) return SIN;
+        if (f instanceof Cos) return COS;
+        if (f instanceof Tan) return TAN;
+        if (f instanceof Exp) return EXP;
+        if (f instanceof Log l) {
+            return MethodHandles.insertArguments(LOG, 1, Math.log(l.getBase()));
+        }
+        // Shift и Scale к этому моменту уже свёрнуты оптимизатором в Affine
+        if (f instanceof Affine a) {
+            // mulY * f(mulX * x + addX) + addY
+            MethodHandle arg = MethodHandles.insertArguments(AFFINE, 1, a.getMulX(), a.getAddX());
+            MethodHandle result = MethodHandles.insertArguments(AFFINE, 1, a.getMulY(), a.getAddY());
+            return then(then(arg, handleOf(a.getFunction())), result);
+        }
+        if (f instanceof Power p) {
+            return then(handleOf(p.getFunction()), MethodHandles.insertArguments(POW, 1, p.getPower()));
+        }
+        if (f instanceof IntegerPower p) {
+            return then(handleOf(p.getFunction()), MethodHandles.insertArguments(INT_POW, 1, p.getPower()));
+        }
+        if (f instanceof Sum s) {
+            return pointwise(ADD, handleOf(s.getFirst()), handleOf(s.getSecond()));
+        }
+        if (f instanceof Mult m) {
+            return pointwise(MUL, handleOf(m.getFirst()), handleOf(m.getSecond()));
+        }
+        if (f instanceof Composition c) {
+            return then(handleOf(c.getInner()), handleOf(c.getOuter()));
+        }
+        // неизвестный узел остаётся вызовом его getFunctionValue
+        return APPLY.bindTo(f);
+    }
+
+    // second(first(x))
+    private static MethodHandle then(MethodHandle first, MethodHandle second) {
+        return MethodHandles.filterReturnValue(first, second);
+    }
+
+    // op(first(x), second(x)): аргумент дублируется в оба фильтра
+    private static MethodHandle pointwise(MethodHandle op, MethodHandle first, MethodHandle second) {
+        MethodHandle both = MethodHandles.filterArguments(op, 0, first, second);
+        return MethodHandles.permuteArguments(both, UNARY, 0, 0);
+    }
+
+    private static byte[] templateBytes() {
+        try (InputStream in = FunctionCompiler.class.getResourceAsStream("CompiledTemplate.class")) {
+            return (in == null) ? null : in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Арифметика узлов — в том же порядке операций, что и в getFunctionValue соответствующих классов
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double mul(double a, double b) {
+        return a * b;
+    }
+
+    private static double affine(double x, double mul, double add) {
+        return mul * x + add;
+    }
+
+    private static double log(double x, double lnBase) {
+        if (x <= 0.0) return Double.NaN; // вне области определения
+        return Math.log(x) / lnBase;
+    }
+}
@@ -0,0 +1,100 @@
+package functions;
+
+import functions.meta.*;
+
+/*
+ * Упрощение дерева функций для Functions.optimize (снизу вверх, исходное дерево не меняется):
+ *  - соседние Shift/Scale/Affine сворачиваются в один Affine, деление на scaleX заменяется умножением;
+ *    тождественное преобразование исчезает;
+ *  - Power с целым показателем до MAX_LOWERED_POWER по модулю становится IntegerPower (умножения вместо Math.pow);
+ *    вложенные целые степени перемножаются: (f^a)^b = f^(a*b); f^1 == f;
+ *  - Sum, Mult и Composition пересобираются, только если изменился хотя бы один аргумент.
+ * Дробные степени не объединяются: (f^a)^b и f^(a*b) расходятся при отрицательных f.
+ */
+final class FunctionOptimizer {
+
+    // Максимальный показатель, для которого умножения быстрее Math.pow и погрешность остаётся в пределах EPSILON
+    static final int MAX_LOWERED_POWER = 64;
+
+    private FunctionOptimizer() {
+        throw new AssertionError("No instances");
+    }
+
+    static Function optimize(Function f) {
+        if (f instanceof Shift s) {
+            return affine(optimize(s.getFunction()), 1.0, -s.getShiftX(), 1.0, s.getShiftY());
+        }
+        if (f instanceof Scale s) {
+            return affine(optimize(s.getFunction()), 1.0 / s.getScaleX(), 0.0, s.getScaleY(), 0.0);
+        }
+        if (f instanceof Affine a) {
+            return affine(optimize(a.getFunction()), a.getMulX(), a.getAddX(), a.getMulY(), a.getAddY());
+        }
+        if (f instanceof Power p) {
+            return power(optimize(p.getFunction()), p.getPower());
+        }
+        if (f instanceof IntegerPower p) {
+            return power(optimize(p.getFunction()), p.getPower());
+        }
+        if (f instanceof Sum s) {
+            Function first = optimize(s.getFirst());
+            Function second = optimize(s.getSecond());
+            return (first == s.getFirst() && second == s.getSecond()) ? f : new Sum(first, second);
+        }
+        if (f instanceof Mult m) {
+            Function first = optimize(m.getFirst());
+            Function second = optimize(m.getSecond());
+            return (first == m.getFirst() && second == m.getSecond()) ? f : new Mult(first, second);
+        }
+        if (f instanceof Composition c) {
+            Function outer = optimize(c.getOuter());
+            Function inner = optimize(c.getInner());
+            return (outer == c.getOuter() && inner == c.getInner()) ? f : new Composition(outer, inner);
+        }
+        return f;
+    }
+
+    // mulY * g(mulX * x + addX) + addY; если g — тоже Affine, преобразования перемножаются
+    private static Function affine(Function g, double mulX, double addX, double mulY, double addY) {
+        if (g instanceof Affine inner) {
+            // mulY * (iy * h(ix * (mulX * x + addX) + ia) + ib) + addY
+            double ix = inner.getMulX(), ia = inner.getAddX();
+            double iy = inner.getMulY(), ib = inner.getAddY();
+            g = inner.getFunction();
+            addX = ix * addX + ia;
+            mulX = ix * mulX;
+            addY = mulY * ib + addY;
+            mulY = mulY * iy;
+        }
+        if (mulX == 1.0 && addX == 0.0 && mulY == 1.0 && addY == 0.0) {
+            return g;
+        }
+        return new Affine(g, mulX, addX, mulY, addY);
+    }
+
+    // g^p; целые показатели перемножаются с целой степенью внутри и понижаются до умножений
+    private static Function power(Function g, double p) {
+        if (!isInteger(p)) {
+            return new Power(g, p);
+        }
+        double n = p;
+        if (g instanceof IntegerPower inner) {
+            n = inner.getPower() * p;
+            g = inner.getFunction();
+        } else if (g instanceof Power inner && isInteger(inner.getPower())) {
+            n = inner.getPower() * p;
+            g = inner.getFunction();
+        }
+        if (n == 1.0) {
+            return g;
+        }
+        if (Math.abs(n) <= MAX_LOWERED_POWER) {
+            return new IntegerPower(g, (int) n);
+        }
+        return new Power(g, n);
+    }
+
+    private static boolean isInteger(double p) {
+        return p == Math.rint(p) && !Double.isInfinite(p);
+    }
+}
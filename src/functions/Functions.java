@@ -1,6 +1,11 @@
 package functions;
 
 import functions.meta.*;
+import metrics.Metrics;
+import metrics.Timer;
+import metrics.jfr.IntegralEvent;
+
+import java.util.concurrent.ForkJoinPool;
 
 public final class Functions {
     private Functions() {
@@ -32,7 +37,23 @@ public final class Functions {
         return new Composition(outer, inner);
     }
 
-    public static double integral(Function f, double left, double right, double step) {
+    // Упрощённое дерево с теми же значениями (в пределах EPSILON): цепочки Shift/Scale сворачиваются
+    // в один Affine, целые степени вычисляются умножениями, вложенные целые степени объединяются.
+    // Исходное дерево не меняется; узлы, которые нечего упрощать, переиспользуются
+    public static Function optimize(Function f) {
+        if (f == null) throw new IllegalArgumentException("Function must not be null");
+        return FunctionOptimizer.optimize(f);
+    }
+
+    // Упрощённое дерево, собранное в один специализированный класс: JIT видит сплошную арифметику
+    // вместо цепочки виртуальных вызовов. Табулированные и пользовательские функции вызываются как есть
+    public static CompiledFunction compile(Function f) {
+        if (f == null) throw new IllegalArgumentException("Function must not be null");
+        return FunctionCompiler.compile(f);
+    }
+
+    // Проверки входных данных, общие для последовательного и параллельного интегрирования
+    private static void checkIntegralArguments(Function f, double left, double right, double step) {
         // Проверка входных данных
         if (f == null)
             throw new IllegalArgumentException("Функция не должна быть null");
@@ -46,6 +67,11 @@ public final class Functions {
         if (step <= 0.0)
             throw new IllegalArgumentException("Шаг интегрирования должен быть > 0. Получено: " + step);
 
+        checkIntegralInterval(f, left, right);
+    }
+
+    // Проверка отрезка интегрирования: left < right и отрезок внутри области определения f
+    private static void checkIntegralInterval(Function f, double left, double right) {
         if (left >= right)
             throw new IllegalArgumentException("Левая граница должна быть меньше правой. left = " + left + ", right = " + right);
 
@@ -59,21 +85,195 @@ public final class Functions {
                     "Интервал [" + left + "; " + right + "] выходит за область определения функции: [" +
                             domainLeft + "; " + domainRight + "]");
         }
-        double result = 0;
-        double x = left;      // Начинаем с левой границы интервала
-
-        while (x < right) {  // Проходим по всему интервалу от left до right с шагом step
-            double next = x + step;
-            if (next > right)
-                next = right;  // На последнем отрезке берем правую границу
-            // Вычисляем значения функции в текущей и следующей точках
+    }
+
+    public static double integral(Function f, double left, double right, double step) {
+        try {
+            return integral(f, left, right, step, false);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e); // без проверки прерывания не выбрасывается
+        }
+    }
+
+    // То же, что integral, но между порциями узлов проверяет прерывание потока:
+    // отменённая задача не досчитывает интеграл до конца, флаг прерывания сбрасывается
+    public static double interruptibleIntegral(Function f, double left, double right, double step)
+            throws InterruptedException {
+        return integral(f, left, right, step, true);
+    }
+
+    private static double integral(Function f, double left, double right, double step, boolean interruptible)
+            throws InterruptedException {
+        checkIntegralArguments(f, left, right, step);
+        IntegralEvent event = new IntegralEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+
+        // Integrable и табулированные функции (в том числе под Shift/Scale/Sum) интегрируются точно, без шага
+        double result = exactIntegral(f, left, right);
+        boolean exact = !Double.isNaN(result);
+        long evaluations = 0;
+        if (!exact) {
+            result = 0;
+            double x = left;      // Начинаем с левой границы интервала
             double fx = f.getFunctionValue(x);
-            double fNext = f.getFunctionValue(next);
-            double h = next - x;  // Фактическая длина текущего отрезка
-            // Добавляем площадь текущей трапеции к результату
-            result += (fx + fNext) * h / 2.0;
-            x = next;
-        } // Переходим к следующему отрезку
+            evaluations = 1;
+            // Узлы считаются порциями по INTEGRAL_BATCH и вычисляются одним вызовом getFunctionValues;
+            // последовательность узлов и порядок суммирования те же, что при поточечном обходе
+            double[] nodes = new double[INTEGRAL_BATCH];
+            double[] values = new double[INTEGRAL_BATCH];
+
+            while (x < right) {  // Проходим по всему интервалу от left до right с шагом step
+                if (interruptible && Thread.interrupted())
+                    throw new InterruptedException("Интегрирование прервано на x = " + x);
+                int n = 0;
+                double next = x;
+                while (n < INTEGRAL_BATCH && next < right) {
+                    next += step;
+                    if (next > right)
+                        next = right;  // На последнем отрезке берем правую границу
+                    nodes[n++] = next;
+                }
+                if (n < INTEGRAL_BATCH) { // последняя неполная порция
+                    nodes = java.util.Arrays.copyOf(nodes, n);
+                    values = new double[n];
+                }
+                f.getFunctionValues(nodes, values);
+                evaluations += n;
+                for (int i = 0; i < n; ++i) {
+                    double h = nodes[i] - x;  // Фактическая длина текущего отрезка
+                    // Добавляем площадь текущей трапеции к результату
+                    result += (fx + values[i]) * h / 2.0;
+                    x = nodes[i];
+                    fx = values[i];
+                } // Переходим к следующему отрезку
+            }
+        }
+
+        if (measured)
+            INTEGRAL_TIMER.record(evaluations, System.nanoTime() - started);
+        if (event.shouldCommit()) {
+            event.left = left;
+            event.right = right;
+            event.step = step;
+            event.evaluations = evaluations;
+            event.exact = exact;
+            event.commit();
+        }
         return result;  // Возвращаем вычисленное значение интеграла
     }
+
+    // Метрика: вызовы integral, суммарное время и число вычислений функции
+    private static final Timer INTEGRAL_TIMER = Metrics.timer("functions.integral");
+
+    /*
+     * Адаптивное интегрирование (Гаусс–Кронрод 7/15) с заданной точностью вместо фиксированного шага:
+     * отрезки с наибольшей оценкой погрешности делятся пополам, пока оценка не станет
+     * <= max(absTolerance, relTolerance * |I|) или пока число вычислений функции не достигнет maxEvaluations.
+     * Возвращает значение, оценку погрешности и число вычислений; converged = false, если бюджета не хватило.
+     */
+    public static IntegrationResult adaptiveIntegral(Function f, double left, double right,
+                                                     double absTolerance, double relTolerance, int maxEvaluations) {
+        if (f == null)
+            throw new IllegalArgumentException("Функция не должна быть null");
+        if (!Double.isFinite(left) || !Double.isFinite(right))
+            throw new IllegalArgumentException("Границы интегрирования должны быть конечными числами");
+        if (!(absTolerance >= 0.0) || !(relTolerance >= 0.0))
+            throw new IllegalArgumentException("Допуски должны быть >= 0. Получено: " + absTolerance + ", " + relTolerance);
+        if (maxEvaluations < AdaptiveIntegrator.NODES)
+            throw new IllegalArgumentException("Бюджет вычислений должен быть >= " + AdaptiveIntegrator.NODES +
+                    ". Получено: " + maxEvaluations);
+        checkIntegralInterval(f, left, right);
+        return AdaptiveIntegrator.integrate(f, left, right, absTolerance, relTolerance, maxEvaluations);
+    }
+
+    // Точный интеграл без выборки по шагу, если он известен для f (Integrable или табулированная), иначе NaN.
+    // Shift, Scale и Affine сводятся к интегралу исходной функции заменой переменной, Sum — к сумме интегралов слагаемых.
+    // Базовые функции (Exp, Log, Sin, Cos, Tan) интегрируются по первообразной как Integrable.
+    private static double exactIntegral(Function f, double left, double right) {
+        if (f instanceof Integrable integrable) {
+            return integrable.integral(left, right);
+        }
+        if (f instanceof TabulatedFunction tf) {
+            return TabulatedFunctions.integral(tf, left, right);
+        }
+        if (f instanceof Shift s) {
+            // ∫ g(x - sx) + sy dx = ∫[left - sx; right - sx] g + sy * (right - left)
+            double inner = substitutedIntegral(s.getFunction(), left - s.getShiftX(), right - s.getShiftX());
+            return inner + s.getShiftY() * (right - left);
+        }
+        if (f instanceof Scale s) {
+            // ∫ sy * g(x / kx) dx = sy * |kx| * ∫[min; max] g(u) du, u = x / kx
+            double kx = s.getScaleX();
+            double a = left / kx, b = right / kx;
+            double inner = substitutedIntegral(s.getFunction(), Math.min(a, b), Math.max(a, b));
+            return s.getScaleY() * Math.abs(kx) * inner;
+        }
+        if (f instanceof CompiledFunction c) {
+            return exactIntegral(c.getSource(), left, right);
+        }
+        if (f instanceof Affine a) {
+            // ∫ my * g(mx * x + ax) + ay dx = my / |mx| * ∫[min; max] g(u) du + ay * (right - left)
+            double mx = a.getMulX();
+            double u1 = mx * left + a.getAddX(), u2 = mx * right + a.getAddX();
+            double inner = substitutedIntegral(a.getFunction(), Math.min(u1, u2), Math.max(u1, u2));
+            return a.getMulY() / Math.abs(mx) * inner + a.getAddY() * (right - left);
+        }
+        if (f instanceof Sum s) {
+            // линейность: точно, только если точно интегрируются оба слагаемых
+            double first = exactIntegral(s.getFirst(), left, right);
+            if (Double.isNaN(first)) return Double.NaN;
+            return first + exactIntegral(s.getSecond(), left, right);
+        }
+        return Double.NaN;
+    }
+
+    // exactIntegral после замены переменной: границы, вычисленные с округлением, могут выйти
+    // за область определения g на ulp, хотя исходный отрезок проверку прошёл, — прижимаем их к области.
+    // Если после прижатия отрезок пуст, точного значения нет (NaN) и работает метод трапеций.
+    private static double substitutedIntegral(Function g, double left, double right) {
+        left = Math.max(left, g.getLeftDomainBorder());
+        right = Math.min(right, g.getRightDomainBorder());
+        if (!(left < right)) return Double.NaN;
+        return exactIntegral(g, left, right);
+    }
+
+    // Количество узлов в одной порции пакетного вычисления
+    private static final int INTEGRAL_BATCH = 1024;
+
+    // Порог по умолчанию: столько отрезков считает одна подзадача без дальнейшего деления
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+
+    // Параллельный метод трапеций в общем ForkJoinPool с порогом по умолчанию
+    public static double parallelIntegral(Function f, double left, double right, double step) {
+        return parallelIntegral(f, left, right, step, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /*
+     * Параллельный метод трапеций: [left; right] делится на отрезки с узлами left + k * step
+     * (последний узел — right), диапазоны отрезков рекурсивно делятся пополам до threshold
+     * и считаются в pool, частичные суммы складываются попарно по тому же дереву деления.
+     * Дерево зависит только от количества отрезков и threshold, поэтому результат побитово
+     * одинаков при любом числе потоков. Функция f вычисляется из нескольких потоков.
+     *
+     * Отличие от integral — только ошибки округления: узлы считаются как left + k * step вместо
+     * накопления x += step, а суммы складываются попарно. Для n отрезков расхождение не превышает
+     * порядка n * 1e-16 * (сумма |f| * h по отрезкам); если при накоплении шага integral получил
+     * на один отрезок больше или меньше, разница ограничена площадью этого отрезка.
+     */
+    public static double parallelIntegral(Function f, double left, double right, double step,
+                                          ForkJoinPool pool, int threshold) {
+        checkIntegralArguments(f, left, right, step);
+        if (pool == null)
+            throw new IllegalArgumentException("Пул потоков не должен быть null");
+        if (threshold < 1)
+            throw new IllegalArgumentException("Порог должен быть >= 1. Получено: " + threshold);
+
+        long segments = (long) Math.ceil((right - left) / step);
+        // Последний внутренний узел должен лежать строго левее right
+        while (segments > 1 && left + (segments - 1) * step >= right) segments--;
+        if (segments < 1) segments = 1;
+        return pool.invoke(new ParallelIntegralTask(f, left, right, step, segments, 0, segments, threshold));
+    }
 }
\ No newline at end of file
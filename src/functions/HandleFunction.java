@@ -0,0 +1,32 @@
+package functions;
+
+import java.lang.invoke.MethodHandle;
+
+// Скомпилированная функция без скрытого класса: цепочка в обычном поле. Используется, если байткод
+// шаблона недоступен; значения те же, но JIT встраивает цепочку только при постоянном получателе.
+final class HandleFunction extends CompiledFunction {
+    private final MethodHandle handle;
+
+    HandleFunction(Function source, MethodHandle handle) {
+        super(source);
+        this.handle = handle;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        try {
+            return (double) handle.invokeExact(x);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
+}
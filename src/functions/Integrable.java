@@ -0,0 +1,8 @@
+package functions;
+
+// Функция, интеграл которой по отрезку вычисляется напрямую, без выборки по шагу.
+// Functions.integral использует этот метод, если подынтегральная функция его поддерживает.
+public interface Integrable extends Function {
+    // Интеграл по [left; right]; NaN, если на этом отрезке напрямую его вычислить нельзя
+    double integral(double left, double right);
+}
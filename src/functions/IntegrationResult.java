@@ -0,0 +1,30 @@
+package functions;
+
+// Результат адаптивного интегрирования: значение, оценка погрешности и число вычислений функции
+public final class IntegrationResult {
+    private final double value;          // оценка интеграла
+    private final double errorEstimate;  // оценка абсолютной погрешности
+    private final int evaluations;       // сколько раз вычислялась функция
+    private final boolean converged;     // достигнута ли требуемая точность в рамках бюджета
+
+    public IntegrationResult(double value, double errorEstimate, int evaluations, boolean converged) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.converged = converged;
+    }
+
+    public double getValue() { return value; }
+
+    public double getErrorEstimate() { return errorEstimate; }
+
+    public int getEvaluations() { return evaluations; }
+
+    public boolean isConverged() { return converged; }
+
+    @Override
+    public String toString() {
+        return "IntegrationResult{value=" + value + ", errorEstimate=" + errorEstimate +
+               ", evaluations=" + evaluations + ", converged=" + converged + '}';
+    }
+}
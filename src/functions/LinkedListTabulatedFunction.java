@@ -32,6 +32,21 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
     // Текущее количество точек
     private int size;
 
+    // Запомненная позиция («палец»): узел и его индекс. Пара неизменяема и заменяется целиком,
+    // чтобы параллельные читатели не увидели узел от одной позиции с индексом от другой
+    private static final class Finger {
+        final FunctionNode node;
+        final int index;
+
+        Finger(FunctionNode node, int index) { this.node = node; this.index = index; }
+    }
+
+    // Последняя позиция доступа по индексу: следующие обращения идут от неё
+    private transient Finger finger;
+
+    // Начало последнего сегмента, использованного в getFunctionValue
+    private transient FunctionNode lastSegment;
+
 
     private static final double EPSILON = 1e-9;
     private static boolean eq(double a, double b) { return Math.abs(a - b) <= EPSILON; }
@@ -57,13 +72,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
             if (!lt(arr[i - 1].getX(), arr[i].getX()))
                 throw new IllegalArgumentException("Points must be strictly increasing by x");
         }
-        // Добавляем копии точек
-        for (FunctionPoint p : arr) {
-            try {
-                addPoint(new FunctionPoint(p));
-            } catch (InappropriateFunctionPointException e) {
-                throw new IllegalArgumentException("Invalid points order or duplicate x near " + p.getX(), e);
-            }
+        // Добавляем копии точек одной партией: слияние с пустым списком — O(n)
+        try {
+            addPoints(arr);
+        } catch (InappropriateFunctionPointException e) {
+            throw new IllegalArgumentException("Invalid points order or duplicate x", e);
         }
     }
 
@@ -89,6 +102,14 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         }
     }
 
+    // Конструктор фабрики: массивы уже проверены TabulatedFunctions.checkPoints
+    private LinkedListTabulatedFunction(double[] xs, double[] ys) {
+        this();
+        for (int i = 0; i < xs.length; i++) {
+            addNodeToTail(xs[i], ys[i]);
+        }
+    }
+
 
 
     private void initEmpty() {
@@ -96,6 +117,8 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         head.next = head;
         head.prev = head;
         size = 0;
+        finger = null;
+        lastSegment = null;
     }
 
     private void clear() {
@@ -103,24 +126,39 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         initEmpty();
     }
 
+    // Узел по индексу: проход начинается от ближайшей из трёх позиций — головы, хвоста или «пальца»,
+    // поэтому последовательные и близкие обращения стоят O(1) амортизированно
     private FunctionNode getNodeByIndex(int index) {
         if (index < 0 || index >= size) {
             throw new FunctionPointIndexOutOfBoundsException("index=" + index);
         }
+        FunctionNode cur;
+        int pos;
         if (index < size / 2) {
-            FunctionNode cur = head.next;
-            for (int i = 0; i < index; i++) cur = cur.next;
-            return cur;
+            cur = head.next;
+            pos = 0;
         } else {
-            FunctionNode cur = head.prev;
-            for (int i = size - 1; i > index; i--) cur = cur.prev;
-            return cur;
+            cur = head.prev;
+            pos = size - 1;
         }
+        Finger f = finger;
+        if (f != null && Math.abs(f.index - index) < Math.abs(pos - index)) {
+            cur = f.node;
+            pos = f.index;
+        }
+        while (pos < index) { cur = cur.next; pos++; }
+        while (pos > index) { cur = cur.prev; pos--; }
+        if (f == null || f.node != cur) finger = new Finger(cur, index);
+        return cur;
     }
 
     private FunctionNode addNodeToTail(FunctionPoint p) {
+        return addNodeToTail(p.getX(), p.getY()); // копия
+    }
+
+    private FunctionNode addNodeToTail(double x, double y) {
         FunctionNode last = head.prev;
-        FunctionNode node = new FunctionNode(new FunctionPoint(p)); // копия
+        FunctionNode node = new FunctionNode(new FunctionPoint(x, y));
         node.prev = last;
         node.next = head;
         last.next = node;
@@ -136,7 +174,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         if (index == size) {
             return addNodeToTail(p);
         }
-        FunctionNode at = getNodeByIndex(index);
+        return insertBefore(getNodeByIndex(index), index, p);
+    }
+
+    // Вставка копии точки перед узлом at, стоящим на позиции index
+    private FunctionNode insertBefore(FunctionNode at, int index, FunctionPoint p) {
         FunctionNode before = at.prev;
         FunctionNode node = new FunctionNode(new FunctionPoint(p)); // копия
         node.prev = before;
@@ -144,11 +186,17 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         before.next = node;
         at.prev = node;
         size++;
+        // Узлы с позиции index сдвинулись вправо
+        Finger f = finger;
+        if (f != null && f.index >= index) finger = new Finger(f.node, f.index + 1);
         return node;
     }
 
     private FunctionNode deleteNodeByIndex(int index) {
         FunctionNode at = getNodeByIndex(index);
+        // «Палец» переносится на соседний узел, подсказка поиска сегмента — на предыдущий
+        finger = (index > 0) ? new Finger(at.prev, index - 1) : null;
+        if (lastSegment == at) lastSegment = null;
         at.prev.next = at.next;
         at.next.prev = at.prev;
         size--;
@@ -170,25 +218,65 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         double left = head.next.point.getX();
         double right = head.prev.point.getX();
         if (lt(x, left) || gt(x, right)) return Double.NaN;
+        if (size == 1) return head.next.point.getY();
+
+        FunctionNode cur = findSegment(x);
+        double x0 = cur.point.getX(), y0 = cur.point.getY();
+        double x1 = cur.next.point.getX(), y1 = cur.next.point.getY();
+        // точное попадание (левый узел проверяется первым, как при проходе с головы)
+        if (eq(x, x0)) return y0;
+        if (eq(x, x1)) return y1;
+        // линейная интерполяция на сегменте [x0, x1]
+        return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+    }
 
-        // точное попадание
-        FunctionNode cur = head.next;
-        for (int i = 0; i < size; i++) {
-            if (eq(x, cur.point.getX())) return cur.point.getY();
-            cur = cur.next;
+    // Начало сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к первому и последнему сегментам).
+    // Поиск идёт вперёд или назад от последнего использованного сегмента, поэтому близкие
+    // и монотонные запросы не проходят список заново
+    private FunctionNode findSegment(double x) {
+        FunctionNode first = head.next;
+        FunctionNode lastStart = head.prev.prev;
+        FunctionNode cur = lastSegment;
+        if (cur == null) cur = first;
+        // подсказка могла указывать на последний узел (например, после удаления хвоста):
+        // от него cur.next — голова без точки
+        if (cur == head.prev) cur = lastStart;
+        if (cur.point.getX() <= x) {
+            while (cur != lastStart && cur.next.point.getX() <= x) cur = cur.next;
+        } else {
+            while (cur != first && cur.point.getX() > x) cur = cur.prev;
         }
+        lastSegment = cur;
+        return cur;
+    }
 
-        // линейная интерполяция на сегменте [x0, x1]
-        cur = head.next;
-        for (int i = 0; i < size - 1; i++) {
+    // Пакетное вычисление: для упорядоченного по возрастанию xs — один проход по списку
+    // вместо двух проходов на каждую точку, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        if (size < 2 || !TabulatedFunctions.isSorted(xs)) {
+            TabulatedFunction.super.getFunctionValues(xs, out);
+            return;
+        }
+        double left = head.next.point.getX();
+        double right = head.prev.point.getX();
+        FunctionNode lastNode = head.prev.prev; // начало последнего сегмента
+        FunctionNode cur = null; // проход начинается с сегмента первого x внутри таблицы, а не с головы
+        for (int k = 0; k < xs.length; ++k) {
+            double x = xs[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (cur == null) cur = findSegment(x);
+            while (cur != lastNode && cur.next.point.getX() <= x) cur = cur.next;
             double x0 = cur.point.getX(), y0 = cur.point.getY();
             double x1 = cur.next.point.getX(), y1 = cur.next.point.getY();
-            if (ge(x, x0) && le(x, x1)) {
-                return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
-            }
-            cur = cur.next;
+            if (eq(x, x0)) out[k] = y0;
+            else if (eq(x, x1)) out[k] = y1;
+            else out[k] = y0 + (y1 - y0) * (x - x0) / (x1 - x0);
         }
-        return Double.NaN;
+        if (cur != null) lastSegment = cur; // следующая порция продолжит с этого сегмента
     }
 
     @Override
@@ -264,7 +352,52 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Externali
         if (insertIndex < size && eq(cur.point.getX(), x))
             throw new InappropriateFunctionPointException("duplicate x");
 
-        addNodeByIndex(insertIndex, point); // копия внутри
+        // cur — узел на позиции insertIndex (или голова при вставке в конец), второй проход не нужен
+        insertBefore(cur, insertIndex, point); // копия внутри
+    }
+
+    // Добавляет партию точек за O(n + m log m): партия упорядочивается и проверяется целиком,
+    // затем вставляется одним проходом слиянием по списку
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.prepareBatch(this, points); // копии
+        FunctionNode cur = head.next;
+        for (FunctionPoint p : batch) {
+            while (cur != head && cur.point.getX() < p.getX()) cur = cur.next;
+            FunctionNode node = new FunctionNode(p);
+            node.prev = cur.prev;
+            node.next = cur;
+            cur.prev.next = node;
+            cur.prev = node;
+            size++;
+        }
+        finger = null; // индексы сдвинулись
+    }
+
+    // Удаляет точки [from; to): цепочка узлов вырезается целиком
+    @Override
+    public void deleteRange(int from, int to) {
+        TabulatedFunctions.checkRange(size, from, to);
+        if (from == to) return;
+        FunctionNode first = getNodeByIndex(from);
+        FunctionNode last = first;
+        for (int i = from + 1; i < to; ++i) last = last.next;
+        first.prev.next = last.next;
+        last.next.prev = first.prev;
+        size -= to - from;
+        finger = null;
+        lastSegment = null;
+    }
+
+    // Заменяет все y одним проходом по списку
+    @Override
+    public void setPointsY(double[] ys) {
+        TabulatedFunctions.checkValues(size, ys);
+        FunctionNode cur = head.next;
+        for (int i = 0; i < size; ++i) {
+            cur.point.setY(ys[i]);
+            cur = cur.next;
+        }
     }
 
     @Override
@@ -408,6 +541,12 @@ public java.util.Iterator<FunctionPoint> iterator() {
     public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
         return new LinkedListTabulatedFunction(points);
     }
+
+    @Override
+    public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+        TabulatedFunctions.checkPoints(xs, ys);
+        return new LinkedListTabulatedFunction(xs, ys);
+    }
 }
 
 }
@@ -0,0 +1,283 @@
+package functions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Табулированная функция только для чтения поверх файла, записанного
+ * TabulatedFunctions.outputTabulatedFunction: int N, затем N пар (x, y) типа double (big-endian).
+ * Файл отображается в память через FileChannel.map, точки читаются прямо из отображения без копирования.
+ * Отображение разбито на сегменты не больше 1 ГиБ, поэтому работают и файлы больше 2 ГБ.
+ * Порядок по x не проверяется: файл должен быть получен из корректной табулированной функции.
+ *
+ * Исключения:
+ *  UncheckedIOException: ошибка ввода-вывода или файл обрезан
+ *  IllegalArgumentException: в файле меньше 2 точек
+ *  UnsupportedOperationException: любые изменяющие операции
+ */
+public class MappedTabulatedFunction implements TabulatedFunction {
+
+    private static final int HEADER_BYTES = Integer.BYTES;   // количество точек
+    private static final int RECORD_BYTES = 2 * Double.BYTES; // пара (x, y)
+    private static final int SEGMENT_SHIFT = 26;              // 2^26 записей = 1 ГиБ на сегмент
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final double EPSILON = 1e-9;
+    private static boolean eq(double a, double b) { return Math.abs(a - b) <= EPSILON; }
+    private static boolean lt(double a, double b) { return a <  b - EPSILON; }
+    private static boolean gt(double a, double b) { return a >  b + EPSILON; }
+
+    private final ByteBuffer[] segments; // отображённые участки файла, общие для всех клонов
+    private final int size;
+    private int lastSegment;             // последний найденный сегмент функции (подсказка для поиска)
+
+    // Отображает файл в память только для чтения
+    public MappedTabulatedFunction(Path file) {
+        if (file == null) throw new IllegalArgumentException("file is null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) throw new IOException("File too short: " + fileSize);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            int n = header.getInt(0);
+            if (n < 2) throw new IllegalArgumentException("At least 2 points required");
+            long dataBytes = (long) n * RECORD_BYTES;
+            if (fileSize < HEADER_BYTES + dataBytes)
+                throw new IOException("File truncated: expected " + (HEADER_BYTES + dataBytes) + " bytes, got " + fileSize);
+
+            int segmentCount = (int) (((long) n + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            ByteBuffer[] maps = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; ++s) {
+                long first = (long) s << SEGMENT_SHIFT;
+                long records = Math.min((long) n - first, 1L << SEGMENT_SHIFT);
+                maps[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * RECORD_BYTES, records * RECORD_BYTES);
+            }
+            // отображение остаётся действительным после закрытия канала
+            this.segments = maps;
+            this.size = n;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Клон разделяет то же отображение: данные неизменяемы
+    private MappedTabulatedFunction(ByteBuffer[] segments, int size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    private double x(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * RECORD_BYTES);
+    }
+
+    private double y(int index) {
+        return segments[index >>> SEGMENT_SHIFT].getDouble((index & SEGMENT_MASK) * RECORD_BYTES + Double.BYTES);
+    }
+
+    private void requireIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("index=" + index);
+        }
+    }
+
+    @Override public int getPointsCount() { return size; }
+
+    @Override public double getLeftDomainBorder()  { return x(0); }
+
+    @Override public double getRightDomainBorder() { return x(size - 1); }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (lt(x, x(0)) || gt(x, x(size - 1))) return Double.NaN;
+        int i = findSegment(x);
+        double x0 = x(i), x1 = x(i + 1);
+        if (eq(x, x0)) return y(i);
+        if (eq(x, x1)) return y(i + 1);
+        double y0 = y(i);
+        return y0 + (y(i + 1) - y0) * (x - x0) / (x1 - x0);
+    }
+
+    // Пакетное вычисление: для упорядоченного по возрастанию xs — один последовательный
+    // проход по отображению, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        if (!TabulatedFunctions.isSorted(xs)) {
+            TabulatedFunction.super.getFunctionValues(xs, out);
+            return;
+        }
+        double left = x(0);
+        double right = x(size - 1);
+        int last = size - 2;
+        int j = -1; // проход начинается с сегмента первого x внутри таблицы, а не с нулевого
+        double x0 = 0, x1 = 0;
+        for (int k = 0; k < xs.length; ++k) {
+            double x = xs[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (j < 0) {
+                j = findSegment(x);
+                x0 = x(j);
+                x1 = x(j + 1);
+            }
+            while (j < last && x1 <= x) {
+                j++;
+                x0 = x1;
+                x1 = x(j + 1);
+            }
+            if (eq(x, x0)) out[k] = y(j);
+            else if (eq(x, x1)) out[k] = y(j + 1);
+            else {
+                double y0 = y(j);
+                out[k] = y0 + (y(j + 1) - y0) * (x - x0) / (x1 - x0);
+            }
+        }
+        if (j >= 0) lastSegment = j; // следующая порция продолжит с этого сегмента
+    }
+
+    // Индекс сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к [0, size - 2]).
+    // Сначала проверяется последний найденный сегмент и его правый сосед, иначе — бинарный поиск.
+    private int findSegment(double x) {
+        int last = size - 2;
+        int hint = lastSegment;
+        if (hint >= 0 && hint <= last && x(hint) <= x) {
+            if (hint == last || x < x(hint + 1)) return hint;
+            if (hint + 1 == last || x < x(hint + 2)) return lastSegment = hint + 1;
+        }
+        int lo = 0, hi = last;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (x(mid) <= x) lo = mid;
+            else hi = mid - 1;
+        }
+        return lastSegment = lo;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        requireIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    @Override
+    public double getPointX(int index) {
+        requireIndex(index);
+        return x(index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        requireIndex(index);
+        return y(index);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void addPoints(FunctionPoint[] points) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void deleteRange(int from, int to) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public void setPointsY(double[] ys) {
+        throw new UnsupportedOperationException("Mapped tabulated function is read-only");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(x(i)).append("; ").append(y(i)).append(')');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction tf)) return false;
+        if (size != tf.getPointsCount()) return false;
+        int i = 0;
+        for (FunctionPoint p : tf) {
+            if (!eq(x(i), p.getX()) || !eq(y(i), p.getY())) return false;
+            i++;
+        }
+        return true;
+    }
+
+    // Хеш совместим с остальными реализациями
+    @Override
+    public int hashCode() {
+        int h = size;
+        for (int i = 0; i < size; ++i) {
+            int ph = new FunctionPoint(x(i), y(i)).hashCode();
+            h ^= Integer.rotateLeft(ph, (i & 15));
+        }
+        return h;
+    }
+
+    @Override
+    public MappedTabulatedFunction clone() {
+        return new MappedTabulatedFunction(segments, size);
+    }
+
+    // итератор
+    @Override
+    public java.util.Iterator<FunctionPoint> iterator() {
+        return new java.util.Iterator<FunctionPoint>() {
+            private int index = 0;
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext())
+                    throw new java.util.NoSuchElementException("Все точки уже обработаны");
+                FunctionPoint p = new FunctionPoint(x(index), y(index));
+                index++;
+                return p;
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Метод remove() не реализован для данного итератора");
+            }
+        };
+    }
+}
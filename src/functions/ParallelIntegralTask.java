@@ -0,0 +1,62 @@
+package functions;
+
+import java.util.concurrent.RecursiveTask;
+
+// Подзадача параллельного метода трапеций: сумма площадей отрезков с номерами [from; to).
+// Узел k равен left + k * step, узел с номером segments — правая граница right.
+class ParallelIntegralTask extends RecursiveTask<Double> {
+    private static final long serialVersionUID = 1L;
+
+    private final Function f;
+    private final double left, right, step;
+    private final long segments;   // общее количество отрезков
+    private final long from, to;   // диапазон отрезков этой подзадачи
+    private final int threshold;   // максимум отрезков в листовой подзадаче
+
+    ParallelIntegralTask(Function f, double left, double right, double step,
+                         long segments, long from, long to, int threshold) {
+        this.f = f;
+        this.left = left;
+        this.right = right;
+        this.step = step;
+        this.segments = segments;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    private double node(long k) {
+        return (k >= segments) ? right : left + k * step;
+    }
+
+    @Override
+    protected Double compute() {
+        if (to - from <= threshold) {
+            return leafSum();
+        }
+        // Деление зависит только от границ диапазона, поэтому дерево сложения
+        // одинаково при любом количестве потоков
+        long mid = (from + to) >>> 1;
+        ParallelIntegralTask leftPart = new ParallelIntegralTask(f, left, right, step, segments, from, mid, threshold);
+        ParallelIntegralTask rightPart = new ParallelIntegralTask(f, left, right, step, segments, mid, to, threshold);
+        leftPart.fork();
+        double rightSum = rightPart.compute();
+        return leftPart.join() + rightSum;
+    }
+
+    // Последовательная сумма трапеций; узлы вычисляются одним пакетным вызовом
+    private double leafSum() {
+        int n = (int) (to - from);
+        double[] xs = new double[n + 1];
+        for (int i = 0; i <= n; ++i) {
+            xs[i] = node(from + i);
+        }
+        double[] ys = new double[n + 1];
+        f.getFunctionValues(xs, ys);
+        double sum = 0;
+        for (int i = 0; i < n; ++i) {
+            sum += (ys[i] + ys[i + 1]) * (xs[i + 1] - xs[i]) / 2.0;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,563 @@
+package functions;
+
+import java.util.Arrays;
+
+/*
+ * Неизменяемая (персистентная) табулированная функция. Точки разбиты на блоки не больше 2 * CHUNK_SIZE
+ * точек; блок после создания не меняется. Методы with* возвращают новую версию, которая разделяет
+ * с исходной все блоки, кроме изменённого: копируется один блок и массив ссылок на блоки,
+ * то есть O(CHUNK_SIZE + n / CHUNK_SIZE) вместо O(n) у глубокого клонирования.
+ * clone() возвращает сам объект — копия неизменяемого значения не нужна.
+ *
+ * Методы изменения TabulatedFunction бросают UnsupportedOperationException; вместо них — with*.
+ * Перевод из изменяемой реализации — of(...), обратно — toMutable(...), оба за O(n).
+ *
+ * Исключения:
+ *  IllegalArgumentException: некорректные параметры конструкторов
+ *  FunctionPointIndexOutOfBoundsException: неверный индекс точки
+ *  InappropriateFunctionPointException: нарушен порядок по x или повтор x
+ *  IllegalStateException: попытка удалить точку при количестве < 3
+ *  UnsupportedOperationException: изменяющие операции TabulatedFunction
+ */
+public final class PersistentTabulatedFunction implements TabulatedFunction, java.io.Serializable, Cloneable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int CHUNK_SIZE = 64; // целевой размер блока; блок делится, когда превышает 2 * CHUNK_SIZE
+
+    private static final double EPSILON = 1e-9;
+    private static boolean eq(double a, double b) { return Math.abs(a - b) <= EPSILON; }
+    private static boolean lt(double a, double b) { return a <  b - EPSILON; }
+    private static boolean gt(double a, double b) { return a >  b + EPSILON; }
+
+    // Неизменяемый блок точек
+    private static final class Chunk implements java.io.Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final double[] xs;
+        final double[] ys;
+
+        Chunk(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        int size() {
+            return xs.length;
+        }
+    }
+
+    private final Chunk[] chunks; // блоки по возрастанию x, общие для версий
+    private final int[] starts;   // starts[c] — индекс первой точки блока c, starts[chunks.length] == size
+    private final int size;
+
+    private PersistentTabulatedFunction(Chunk[] chunks) {
+        this.chunks = chunks;
+        this.starts = new int[chunks.length + 1];
+        for (int c = 0; c < chunks.length; ++c) {
+            starts[c + 1] = starts[c] + chunks[c].size();
+        }
+        this.size = starts[chunks.length];
+    }
+
+    // Конструктор получающий все точки сразу, в виде массива
+    public PersistentTabulatedFunction(FunctionPoint[] arr) {
+        this(chunksOf(checkedXs(arr), ysOf(arr)));
+    }
+
+    // Конструктор [leftX; rightX], pointsCount точек, все y=0
+    public PersistentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[checkedCount(pointsCount)]);
+    }
+
+    // Конструктор: [leftX; rightX], значения y — из массива
+    public PersistentTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(chunksOf(grid(leftX, rightX, values), values));
+    }
+
+    // Снимок любой табулированной функции за O(n)
+    public static PersistentTabulatedFunction of(TabulatedFunction source) {
+        if (source == null) throw new IllegalArgumentException("source is null");
+        if (source instanceof PersistentTabulatedFunction p) return p;
+        int n = source.getPointsCount();
+        if (n < 2) throw new IllegalArgumentException("At least 2 points required");
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int i = 0;
+        for (FunctionPoint p : source) {
+            xs[i] = p.getX();
+            ys[i] = p.getY();
+            i++;
+        }
+        return new PersistentTabulatedFunction(chunksOf(xs, ys));
+    }
+
+    // Изменяемая копия через текущую фабрику TabulatedFunctions
+    public TabulatedFunction toMutable() {
+        return TabulatedFunctions.createTabulatedFunction(toPoints());
+    }
+
+    // Изменяемая копия через заданную фабрику
+    public TabulatedFunction toMutable(TabulatedFunctionFactory factory) {
+        if (factory == null) throw new IllegalArgumentException("factory is null");
+        return factory.createTabulatedFunction(toPoints());
+    }
+
+    private FunctionPoint[] toPoints() {
+        FunctionPoint[] points = new FunctionPoint[size];
+        int i = 0;
+        for (Chunk chunk : chunks) {
+            for (int j = 0; j < chunk.size(); ++j) {
+                points[i++] = new FunctionPoint(chunk.xs[j], chunk.ys[j]);
+            }
+        }
+        return points;
+    }
+
+    private static double[] checkedXs(FunctionPoint[] arr) {
+        if (arr == null || arr.length < 2) // если точек < 2
+            throw new IllegalArgumentException("At least 2 points required");
+        // Проверка строгого порядка по x и отсутствия дублирования x
+        for (int i = 1; i < arr.length; ++i) {
+            if (!lt(arr[i - 1].getX(), arr[i].getX()))
+                throw new IllegalArgumentException("Points must be strictly increasing by x");
+        }
+        double[] xs = new double[arr.length];
+        for (int i = 0; i < arr.length; ++i) xs[i] = arr[i].getX();
+        return xs;
+    }
+
+    private static double[] ysOf(FunctionPoint[] arr) {
+        double[] ys = new double[arr.length];
+        for (int i = 0; i < arr.length; ++i) ys[i] = arr[i].getY();
+        return ys;
+    }
+
+    private static int checkedCount(int pointsCount) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be >= 2");
+        }
+        return pointsCount;
+    }
+
+    private static double[] grid(double leftX, double rightX, double[] values) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (values == null || values.length < 2) {
+            throw new IllegalArgumentException("values length must be >= 2");
+        }
+        double[] xs = new double[values.length];
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < xs.length; ++i) {
+            xs[i] = leftX + i * step;
+        }
+        return xs;
+    }
+
+    // Нарезка упорядоченных массивов на блоки по CHUNK_SIZE точек
+    private static Chunk[] chunksOf(double[] xs, double[] ys) {
+        int n = xs.length;
+        Chunk[] result = new Chunk[(n + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int c = 0; c < result.length; ++c) {
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(n, from + CHUNK_SIZE);
+            result[c] = new Chunk(Arrays.copyOfRange(xs, from, to), Arrays.copyOfRange(ys, from, to));
+        }
+        return result;
+    }
+
+    private void requireIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("index=" + index);
+        }
+    }
+
+    // Номер блока, содержащего точку index
+    private int chunkOf(int index) {
+        int lo = 0, hi = chunks.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= index) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private double x(int index) {
+        int c = chunkOf(index);
+        return chunks[c].xs[index - starts[c]];
+    }
+
+    private double y(int index) {
+        int c = chunkOf(index);
+        return chunks[c].ys[index - starts[c]];
+    }
+
+    // Индекс сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к [0, size - 2]):
+    // бинарный поиск сначала по первым x блоков, затем внутри блока
+    private int findSegment(double x) {
+        int lo = 0, hi = chunks.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (chunks[mid].xs[0] <= x) lo = mid;
+            else hi = mid - 1;
+        }
+        double[] xs = chunks[lo].xs;
+        int a = 0, b = xs.length - 1;
+        while (a < b) {
+            int mid = (a + b + 1) >>> 1;
+            if (xs[mid] <= x) a = mid;
+            else b = mid - 1;
+        }
+        return Math.min(starts[lo] + a, size - 2);
+    }
+
+    // Методы интерфейса TabulatedFunction (чтение)
+
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return chunks[0].xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        double[] xs = chunks[chunks.length - 1].xs;
+        return xs[xs.length - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (lt(x, getLeftDomainBorder()) || gt(x, getRightDomainBorder())) return Double.NaN;
+        int i = findSegment(x);
+        double x0 = x(i), x1 = x(i + 1);
+        // совпадение по x (левый узел проверяется первым)
+        if (eq(x, x0)) return y(i);
+        if (eq(x, x1)) return y(i + 1);
+        double y0 = y(i);
+        return y0 + (y(i + 1) - y0) * (x - x0) / (x1 - x0);
+    }
+
+    // Пакетное вычисление: для упорядоченного по возрастанию аргумента — один проход по блокам, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] args, double[] out) {
+        if (!TabulatedFunctions.isSorted(args)) {
+            TabulatedFunction.super.getFunctionValues(args, out);
+            return;
+        }
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        int last = size - 2;
+        // проход начинается с сегмента первого x внутри таблицы (бинарный поиск), а не с нулевого
+        int i = -1;             // левый узел текущего сегмента
+        int cn = 0, jn = 0;     // блок и позиция узла i + 1
+        double x0 = 0, y0 = 0, x1 = 0, y1 = 0;
+        for (int k = 0; k < args.length; ++k) {
+            double x = args[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (i < 0) {
+                i = findSegment(x);
+                x0 = x(i);
+                y0 = y(i);
+                cn = chunkOf(i + 1);
+                jn = i + 1 - starts[cn];
+                x1 = chunks[cn].xs[jn];
+                y1 = chunks[cn].ys[jn];
+            }
+            while (i < last && x1 <= x) {
+                i++;
+                x0 = x1;
+                y0 = y1;
+                if (++jn == chunks[cn].size()) { cn++; jn = 0; }
+                x1 = chunks[cn].xs[jn];
+                y1 = chunks[cn].ys[jn];
+            }
+            if (eq(x, x0)) out[k] = y0;
+            else if (eq(x, x1)) out[k] = y1;
+            else out[k] = y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+        }
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        requireIndex(index);
+        int c = chunkOf(index);
+        int j = index - starts[c];
+        return new FunctionPoint(chunks[c].xs[j], chunks[c].ys[j]);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        requireIndex(index);
+        return x(index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        requireIndex(index);
+        return y(index);
+    }
+
+    // Новые версии: изменённый блок копируется, остальные разделяются
+
+    // Версия с заменённой точкой index (порядок по x должен сохраниться)
+    public PersistentTabulatedFunction withPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) throw new IllegalArgumentException("point is null");
+        requireIndex(index);
+        checkNeighbors(index, point.getX());
+        return replaced(index, point.getX(), point.getY());
+    }
+
+    // Версия с изменённым x точки index (порядок по x должен сохраниться)
+    public PersistentTabulatedFunction withPointX(int index, double x) throws InappropriateFunctionPointException {
+        requireIndex(index);
+        checkNeighbors(index, x);
+        return replaced(index, x, y(index));
+    }
+
+    // Версия с изменённым y точки index
+    public PersistentTabulatedFunction withPointY(int index, double y) {
+        requireIndex(index);
+        return replaced(index, x(index), y);
+    }
+
+    // Версия с добавленной точкой на своём месте по x
+    public PersistentTabulatedFunction withAddedPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) throw new IllegalArgumentException("point is null");
+        double x = point.getX();
+        // первый индекс, для которого !lt(x_i, x)
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lt(x(mid), x)) lo = mid + 1;
+            else hi = mid;
+        }
+        if (lo < size && eq(x(lo), x)) {
+            throw new InappropriateFunctionPointException("duplicate x");
+        }
+        // вставка в конец блока предыдущей точки, чтобы не создавать блок при добавлении справа
+        int c = (lo == size) ? chunks.length - 1 : chunkOf(lo);
+        if (lo == starts[c] && c > 0) c--;
+        Chunk old = chunks[c];
+        int j = lo - starts[c];
+        double[] xs = new double[old.size() + 1];
+        double[] ys = new double[old.size() + 1];
+        System.arraycopy(old.xs, 0, xs, 0, j);
+        System.arraycopy(old.ys, 0, ys, 0, j);
+        xs[j] = x;
+        ys[j] = point.getY();
+        System.arraycopy(old.xs, j, xs, j + 1, old.size() - j);
+        System.arraycopy(old.ys, j, ys, j + 1, old.size() - j);
+
+        if (xs.length <= 2 * CHUNK_SIZE) {
+            Chunk[] next = chunks.clone();
+            next[c] = new Chunk(xs, ys);
+            return new PersistentTabulatedFunction(next);
+        }
+        // переполненный блок делится пополам
+        int half = xs.length / 2;
+        Chunk[] next = new Chunk[chunks.length + 1];
+        System.arraycopy(chunks, 0, next, 0, c);
+        next[c] = new Chunk(Arrays.copyOfRange(xs, 0, half), Arrays.copyOfRange(ys, 0, half));
+        next[c + 1] = new Chunk(Arrays.copyOfRange(xs, half, xs.length), Arrays.copyOfRange(ys, half, ys.length));
+        System.arraycopy(chunks, c + 1, next, c + 2, chunks.length - c - 1);
+        return new PersistentTabulatedFunction(next);
+    }
+
+    // Версия без точки index. Минимум 3 точки.
+    public PersistentTabulatedFunction withoutPoint(int index) {
+        requireIndex(index);
+        if (size < 3) throw new IllegalStateException("cannot delete when points count < 3");
+        int c = chunkOf(index);
+        Chunk old = chunks[c];
+        if (old.size() == 1) {
+            // блок исчезает целиком
+            Chunk[] next = new Chunk[chunks.length - 1];
+            System.arraycopy(chunks, 0, next, 0, c);
+            System.arraycopy(chunks, c + 1, next, c, chunks.length - c - 1);
+            return new PersistentTabulatedFunction(next);
+        }
+        int j = index - starts[c];
+        double[] xs = new double[old.size() - 1];
+        double[] ys = new double[old.size() - 1];
+        System.arraycopy(old.xs, 0, xs, 0, j);
+        System.arraycopy(old.ys, 0, ys, 0, j);
+        System.arraycopy(old.xs, j + 1, xs, j, xs.length - j);
+        System.arraycopy(old.ys, j + 1, ys, j, ys.length - j);
+        Chunk[] next = chunks.clone();
+        next[c] = new Chunk(xs, ys);
+        return new PersistentTabulatedFunction(next);
+    }
+
+    // Копия одного блока с заменённой точкой
+    private PersistentTabulatedFunction replaced(int index, double x, double y) {
+        int c = chunkOf(index);
+        int j = index - starts[c];
+        Chunk old = chunks[c];
+        double[] xs = old.xs.clone();
+        double[] ys = old.ys.clone();
+        xs[j] = x;
+        ys[j] = y;
+        Chunk[] next = chunks.clone();
+        next[c] = new Chunk(xs, ys);
+        return new PersistentTabulatedFunction(next);
+    }
+
+    // Новый x должен остаться строго между соседями
+    private void checkNeighbors(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && !gt(x, x(index - 1)))
+            throw new InappropriateFunctionPointException("x must be > left neighbor");
+        if (index < size - 1 && !lt(x, x(index + 1)))
+            throw new InappropriateFunctionPointException("x must be < right neighbor");
+    }
+
+    // Изменяющие методы TabulatedFunction недоступны: объект неизменяем
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable, use withPoint");
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable, use withPointX");
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable, use withPointY");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable, use withoutPoint");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable, use withAddedPoint");
+    }
+
+    @Override
+    public void addPoints(FunctionPoint[] points) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable");
+    }
+
+    @Override
+    public void deleteRange(int from, int to) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable");
+    }
+
+    @Override
+    public void setPointsY(double[] ys) {
+        throw new UnsupportedOperationException("Persistent tabulated function is immutable");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (Chunk chunk : chunks) {
+            for (int j = 0; j < chunk.size(); ++j) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append('(').append(chunk.xs[j]).append("; ").append(chunk.ys[j]).append(')');
+            }
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) { // Равенство, если длина и все (x,y) совпадают с точностью EPSILON
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction tf)) return false;
+        if (size != tf.getPointsCount()) return false;
+        java.util.Iterator<FunctionPoint> mine = iterator();
+        for (FunctionPoint p : tf) {
+            FunctionPoint q = mine.next();
+            if (!eq(q.getX(), p.getX()) || !eq(q.getY(), p.getY())) return false;
+        }
+        return true;
+    }
+
+    // Хеш совместим с остальными реализациями
+    @Override
+    public int hashCode() {
+        int h = size;
+        int i = 0;
+        for (Chunk chunk : chunks) {
+            for (int j = 0; j < chunk.size(); ++j, ++i) {
+                int ph = new FunctionPoint(chunk.xs[j], chunk.ys[j]).hashCode();
+                h ^= Integer.rotateLeft(ph, (i & 15));
+            }
+        }
+        return h;
+    }
+
+    // Неизменяемый объект можно разделять: клонирование за O(1)
+    @Override
+    public PersistentTabulatedFunction clone() {
+        return this;
+    }
+
+    // итератор
+    @Override
+    public java.util.Iterator<FunctionPoint> iterator() {
+        return new java.util.Iterator<FunctionPoint>() {
+            private int c = 0;
+            private int j = 0;
+            @Override
+            public boolean hasNext() {
+                return c < chunks.length;
+            }
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext())
+                    throw new java.util.NoSuchElementException("Все точки уже обработаны");
+                Chunk chunk = chunks[c];
+                FunctionPoint p = new FunctionPoint(chunk.xs[j], chunk.ys[j]);
+                if (++j == chunk.size()) {
+                    c++;
+                    j = 0;
+                }
+                return p;
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Метод remove() не реализован для данного итератора");
+            }
+        };
+    }
+
+    // фабрика
+    public static class PersistentTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new PersistentTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new PersistentTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new PersistentTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+            TabulatedFunctions.checkPoints(xs, ys);
+            return new PersistentTabulatedFunction(chunksOf(xs, ys)); // блоки всё равно получают свои копии
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package functions;
+
+import java.util.Arrays;
+
+// Табулированная функция на двух параллельных массивах double (x отдельно, y отдельно).
+// Без объектов FunctionPoint внутри: меньше памяти на точку и лучше локальность при поиске.
+public class PrimitiveArrayTabulatedFunction implements TabulatedFunction, Integrable, java.io.Serializable, Cloneable {
+    private static final long serialVersionUID = 1L;
+
+    private int size;          // текущее количество точек
+    private double[] xs;       // абсциссы, строго возрастают
+    private double[] ys;       // ординаты, ys[i] соответствует xs[i]
+    private transient int lastSegment; // последний найденный сегмент (подсказка для поиска)
+    // Накопленные площади, создаются при первом integral. integral — операция чтения, и таблицу могут
+    // интегрировать несколько потоков сразу: индекс строится в локальную переменную и публикуется
+    // через volatile, поэтому читатель видит либо null, либо полностью построенный индекс
+    private transient volatile SegmentAreaIndex areaIndex;
+
+    private static final double EPSILON = 1e-9;
+
+    private static boolean eq(double a, double b) {
+        return Math.abs(a - b) <= EPSILON;
+    }
+
+    private static boolean lt(double a, double b) {
+        return a < b - EPSILON;
+    }
+
+    private static boolean gt(double a, double b) {
+        return a > b + EPSILON;
+    }
+
+    // Проверка индекса на валидность
+    // Исключение, если индекс вне [0, size - 1]
+    private void requireIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("index=" + index);
+        }
+    }
+
+    // Конструктор получающий все точки сразу, в виде массива
+    public PrimitiveArrayTabulatedFunction(FunctionPoint[] arr) {
+        if (arr == null || arr.length < 2) // если точек < 2
+            throw new IllegalArgumentException("At least 2 points required");
+        // Проверка строгого порядка по x и отсутствия дублирования x
+        for (int i = 1; i < arr.length; ++i) {
+            if (!lt(arr[i - 1].getX(), arr[i].getX()))
+                throw new IllegalArgumentException("Points must be strictly increasing by x");
+        }
+        this.size = arr.length;
+        this.xs = new double[size];
+        this.ys = new double[size];
+        for (int i = 0; i < size; ++i) {
+            xs[i] = arr[i].getX();
+            ys[i] = arr[i].getY();
+        }
+    }
+
+    // Конструктор [leftX; rightX], pointsCount точек, все y=0
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be >= 2");
+        }
+        this.size = pointsCount;
+        this.xs = new double[pointsCount];
+        this.ys = new double[pointsCount];
+
+        // Равномерный шаг по x
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; ++i) {
+            xs[i] = leftX + i * step;
+        }
+    }
+
+    // Конструктор: [leftX; rightX], значения y — из массива
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (values == null || values.length < 2) {
+            throw new IllegalArgumentException("values length must be >= 2");
+        }
+        this.size = values.length;
+        this.xs = new double[size];
+        this.ys = values.clone();
+
+        double step = (rightX - leftX) / (size - 1);
+        for (int i = 0; i < size; ++i) {
+            xs[i] = leftX + i * step;
+        }
+    }
+
+    // Конструктор фабрики: массивы уже проверены TabulatedFunctions.checkPoints и принадлежат объекту
+    private PrimitiveArrayTabulatedFunction(double[] xs, double[] ys) {
+        this.size = xs.length;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    // Методы интерфейса TabulatedFunction
+
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return (size == 0) ? Double.NaN : xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return (size == 0) ? Double.NaN : xs[size - 1];
+    }
+
+    // Значение функции в точке x (с эпсилоном только для алгоритма)
+    @Override
+    public double getFunctionValue(double x) {
+        if (size == 0) return Double.NaN;
+        if (lt(x, xs[0]) || gt(x, xs[size - 1])) return Double.NaN;
+        if (size == 1) return ys[0];
+
+        int i = findSegment(x);
+        double x0 = xs[i], x1 = xs[i + 1];
+        // совпадение по x (левый узел проверяется первым)
+        if (eq(x, x0)) return ys[i];
+        if (eq(x, x1)) return ys[i + 1];
+        double y0 = ys[i];
+        return y0 + (ys[i + 1] - y0) * (x - x0) / (x1 - x0);
+    }
+
+    // Пакетное вычисление: для упорядоченного по возрастанию аргумента — один проход слиянием
+    // по сегментам таблицы, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] args, double[] out) {
+        if (size < 2 || !TabulatedFunctions.isSorted(args)) {
+            TabulatedFunction.super.getFunctionValues(args, out);
+            return;
+        }
+        double left = xs[0];
+        double right = xs[size - 1];
+        int last = size - 2;
+        int j = -1; // проход начинается с сегмента первого x внутри таблицы, а не с нулевого
+        for (int k = 0; k < args.length; ++k) {
+            double x = args[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (j < 0) j = findSegment(x);
+            while (j < last && xs[j + 1] <= x) j++;
+            double x0 = xs[j], x1 = xs[j + 1];
+            if (eq(x, x0)) out[k] = ys[j];
+            else if (eq(x, x1)) out[k] = ys[j + 1];
+            else out[k] = ys[j] + (ys[j + 1] - ys[j]) * (x - x0) / (x1 - x0);
+        }
+        if (j >= 0) lastSegment = j; // следующая порция продолжит с этого сегмента
+    }
+
+    // Индекс сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к [0, size - 2]).
+    // Сначала проверяется последний найденный сегмент и его правый сосед, иначе — бинарный поиск.
+    private int findSegment(double x) {
+        int last = size - 2;
+        int hint = lastSegment;
+        if (hint >= 0 && hint <= last && xs[hint] <= x) {
+            if (hint == last || x < xs[hint + 1]) return hint;
+            if (hint + 1 == last || x < xs[hint + 2]) return lastSegment = hint + 1;
+        }
+        int lo = 0, hi = last;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (xs[mid] <= x) lo = mid;
+            else hi = mid - 1;
+        }
+        return lastSegment = lo;
+    }
+
+    // Интеграл кусочно-линейной интерполяции по [left; right] за O(log n): крайние сегменты
+    // считаются частично, середина — разностью накопленных площадей из индекса.
+    // Индекс строится при первом запросе и дальше обновляется при каждом изменении точек.
+    @Override
+    public double integral(double left, double right) {
+        if (!(left < right))
+            throw new IllegalArgumentException("left must be < right");
+        double a = xs[0], b = xs[size - 1];
+        if (lt(left, a) || gt(right, b))
+            throw new IllegalArgumentException("Integration segment lies outside function domain");
+        left = Math.max(left, a);
+        right = Math.min(right, b);
+        SegmentAreaIndex index = areaIndex;
+        if (index == null) index = buildAreaIndex();
+
+        int i = findSegment(left);
+        int j = findSegment(right);
+        if (i == j) return partialArea(i, left, right);
+        return partialArea(i, left, xs[i + 1])
+                + (index.prefix(j) - index.prefix(i + 1))
+                + partialArea(j, xs[j], right);
+    }
+
+    // Площадь под сегментом i на [lo; hi] внутри него
+    private double partialArea(int i, double lo, double hi) {
+        double x0 = xs[i], y0 = ys[i];
+        double x1 = xs[i + 1], y1 = ys[i + 1];
+        double yLo = (lo == x0) ? y0 : y0 + (y1 - y0) * (lo - x0) / (x1 - x0);
+        double yHi = (hi == x1) ? y1 : y0 + (y1 - y0) * (hi - x0) / (x1 - x0);
+        return (yLo + yHi) * (hi - lo) / 2.0;
+    }
+
+    // Площадь трапеции под сегментом [x_i; x_(i+1)]
+    private double segmentArea(int i) {
+        return (ys[i] + ys[i + 1]) * (xs[i + 1] - xs[i]) / 2.0;
+    }
+
+    private SegmentAreaIndex buildAreaIndex() {
+        double[] areas = new double[size - 1];
+        for (int i = 0; i < size - 1; ++i) {
+            areas[i] = segmentArea(i);
+        }
+        SegmentAreaIndex index = new SegmentAreaIndex(areas, size - 1);
+        areaIndex = index; // публикация уже построенного индекса
+        return index;
+    }
+
+    // Точка index изменилась: пересчитываются площади двух соседних сегментов
+    private void updateAreas(int index) {
+        if (areaIndex == null) return;
+        if (index > 0) areaIndex.set(index - 1, segmentArea(index - 1));
+        if (index < size - 1) areaIndex.set(index, segmentArea(index));
+    }
+
+    // Вставлена точка index: сегмент, в который она попала, делится на два
+    private void areasInserted(int index) {
+        if (areaIndex == null) return;
+        if (index == 0) {
+            areaIndex.insert(0, segmentArea(0));
+        } else if (index == size - 1) {
+            areaIndex.insert(index - 1, segmentArea(index - 1));
+        } else {
+            areaIndex.set(index - 1, segmentArea(index - 1));
+            areaIndex.insert(index, segmentArea(index));
+        }
+    }
+
+    // Удалена точка index (size уже уменьшен): два соседних сегмента сливаются в один
+    private void areasDeleted(int index) {
+        if (areaIndex == null) return;
+        if (index == 0) {
+            areaIndex.remove(0);
+        } else if (index == size) {
+            areaIndex.remove(index - 1);
+        } else {
+            areaIndex.remove(index);
+            areaIndex.set(index - 1, segmentArea(index - 1));
+        }
+    }
+
+    // Возвращает новую точку по индексу (внутри точки не хранятся)
+    @Override
+    public FunctionPoint getPoint(int index) {
+        requireIndex(index);
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    // Заменяет точку по индексу на переданную (сохранение строгого порядка по x)
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        requireIndex(index);
+        checkNeighbors(index, point.getX());
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+        updateAreas(index);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        requireIndex(index);
+        return xs[index];
+    }
+
+    // Меняет x точки по индексу. Порядок по x должен сохраниться
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        requireIndex(index);
+        checkNeighbors(index, x);
+        xs[index] = x;
+        updateAreas(index);
+    }
+
+    // Новый x должен остаться строго между соседями
+    private void checkNeighbors(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && !gt(x, xs[index - 1]))
+            throw new InappropriateFunctionPointException("x must be > left neighbor");
+        if (index < size - 1 && !lt(x, xs[index + 1]))
+            throw new InappropriateFunctionPointException("x must be < right neighbor");
+    }
+
+    @Override
+    public double getPointY(int index) {
+        requireIndex(index);
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        requireIndex(index);
+        ys[index] = y;
+        updateAreas(index);
+    }
+
+    // Удаляет точку по индексу со сдвигом хвоста влево. Минимум 3 точки.
+    @Override
+    public void deletePoint(int index) {
+        requireIndex(index);
+        if (size < 3) throw new IllegalStateException("cannot delete when points count < 3");
+        System.arraycopy(xs, index + 1, xs, index, size - index - 1);
+        System.arraycopy(ys, index + 1, ys, index, size - index - 1);
+        size--;
+        areasDeleted(index);
+    }
+
+    // Добавляет новую точку и сохраняет порядок по x (позиция ищется бинарным поиском)
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        double x = point.getX();
+        // первый индекс, для которого !lt(xs[i], x)
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lt(xs[mid], x)) lo = mid + 1;
+            else hi = mid;
+        }
+        int insertIndex = lo;
+        if (insertIndex < size && eq(xs[insertIndex], x)) {
+            throw new InappropriateFunctionPointException("duplicate x");
+        }
+
+        if (size >= xs.length) {
+            int newCapacity = (xs.length == 0) ? 2 : (xs.length * 3 / 2 + 1);
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+        }
+        // Сдвигаем хвост вправо, чтобы освободить позицию insertIndex
+        if (insertIndex < size) {
+            System.arraycopy(xs, insertIndex, xs, insertIndex + 1, size - insertIndex);
+            System.arraycopy(ys, insertIndex, ys, insertIndex + 1, size - insertIndex);
+        }
+        xs[insertIndex] = x;
+        ys[insertIndex] = point.getY();
+        size++;
+        areasInserted(insertIndex);
+    }
+
+    // Добавляет партию точек за O(n + m log m): партия упорядочивается и проверяется целиком,
+    // затем сливается с массивами с конца на месте, без сдвига на каждую точку
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedFunctions.prepareBatch(this, points);
+        int m = batch.length;
+        if (m == 0) return;
+        if (size + m > xs.length) {
+            int newCapacity = Math.max(size + m, xs.length * 3 / 2 + 1);
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+        }
+        int i = size - 1, j = m - 1;
+        for (int k = size + m - 1; j >= 0; --k) {
+            if (i >= 0 && xs[i] > batch[j].getX()) {
+                xs[k] = xs[i];
+                ys[k] = ys[i];
+                i--;
+            } else {
+                xs[k] = batch[j].getX();
+                ys[k] = batch[j].getY();
+                j--;
+            }
+        }
+        size += m;
+        areaIndex = null; // индекс площадей перестроится при следующем integral
+    }
+
+    // Удаляет точки [from; to) одним сдвигом хвоста
+    @Override
+    public void deleteRange(int from, int to) {
+        TabulatedFunctions.checkRange(size, from, to);
+        int removed = to - from;
+        if (removed == 0) return;
+        System.arraycopy(xs, to, xs, from, size - to);
+        System.arraycopy(ys, to, ys, from, size - to);
+        size -= removed;
+        areaIndex = null;
+    }
+
+    // Заменяет все y одним копированием
+    @Override
+    public void setPointsY(double[] values) {
+        TabulatedFunctions.checkValues(size, values);
+        System.arraycopy(values, 0, ys, 0, size);
+        areaIndex = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) sb.append(", ");
+            sb.append('(').append(xs[i]).append("; ").append(ys[i]).append(')');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) { // Равенство, если длина и все (x,y) совпадают с точностью EPSILON
+        if (this == o) return true;
+        if (o instanceof PrimitiveArrayTabulatedFunction other) {
+            if (this.size != other.size) return false;
+            for (int i = 0; i < size; ++i) {
+                if (!eq(xs[i], other.xs[i]) || !eq(ys[i], other.ys[i])) return false;
+            }
+            return true;
+        }
+        if (o instanceof TabulatedFunction tf) {
+            if (this.size != tf.getPointsCount()) return false;
+            int i = 0;
+            for (FunctionPoint p : tf) {
+                if (!eq(xs[i], p.getX()) || !eq(ys[i], p.getY())) return false;
+                i++;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Хеш совместим с ArrayTabulatedFunction: те же хеши точек и та же свёртка
+    @Override
+    public int hashCode() {
+        int h = size;
+        for (int i = 0; i < size; ++i) {
+            int ph = new FunctionPoint(xs[i], ys[i]).hashCode();
+            h ^= Integer.rotateLeft(ph, (i & 15));
+        }
+        return h;
+    }
+
+    @Override
+    public PrimitiveArrayTabulatedFunction clone() { // два копирования массивов, без объектов точек
+        try {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) super.clone();
+            copy.xs = Arrays.copyOf(xs, size);
+            copy.ys = Arrays.copyOf(ys, size);
+            copy.lastSegment = 0;
+            copy.areaIndex = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    //итератор
+    @Override
+    public java.util.Iterator<FunctionPoint> iterator() {
+        return new java.util.Iterator<FunctionPoint>() {
+            private int index = 0;
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext())
+                    throw new java.util.NoSuchElementException("Все элементы массива уже обработаны");
+                FunctionPoint p = new FunctionPoint(xs[index], ys[index]);
+                index++;
+                return p;
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Метод remove() не реализован для данного итератора");
+            }
+        };
+    }
+
+    // фабрика
+    public static class PrimitiveArrayTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new PrimitiveArrayTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new PrimitiveArrayTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new PrimitiveArrayTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+            TabulatedFunctions.checkPoints(xs, ys);
+            // свои массивы хранятся как есть, чужие копируются
+            return owned ? new PrimitiveArrayTabulatedFunction(xs, ys)
+                    : new PrimitiveArrayTabulatedFunction(xs.clone(), ys.clone());
+        }
+    }
+}
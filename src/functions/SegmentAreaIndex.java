@@ -0,0 +1,206 @@
+package functions;
+
+import java.util.Arrays;
+
+/*
+ * Индекс накопленных площадей сегментов табулированной функции (декартово дерево по неявному ключу).
+ * Узел хранит площадь одного сегмента, число узлов и сумму площадей в своём поддереве; порядок узлов
+ * при обходе слева направо — порядок сегментов. Сумма первых k площадей, изменение площади сегмента,
+ * вставка и удаление сегмента на любой позиции — O(log n) в среднем, без перестройки и без сдвига данных.
+ * Узлы лежат в параллельных массивах, освободившиеся переиспользуются.
+ */
+class SegmentAreaIndex implements java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int NIL = 0; // узел 0 — пустое поддерево (size == 0, sum == 0)
+
+    private double[] area; // площадь сегмента узла
+    private double[] sum;  // сумма площадей поддерева
+    private int[] size;    // число узлов поддерева
+    private int[] left;
+    private int[] right;   // у свободного узла — следующий свободный
+    private int[] prio;    // приоритет: у родителя не меньше, чем у потомков
+    private int root;
+    private int count;     // количество сегментов
+    private int allocated; // узлы 1..allocated уже выдавались
+    private int free;      // голова списка свободных узлов
+    private int seed = 0x2545F491;
+
+    // Линейное построение по массиву площадей: узлы добавляются справа, стек хранит правую ветвь
+    SegmentAreaIndex(double[] areas, int count) {
+        int capacity = Math.max(count, 1) + 1;
+        area = new double[capacity];
+        sum = new double[capacity];
+        size = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        prio = new int[capacity];
+        this.count = count;
+
+        int[] stack = new int[count + 1];
+        int top = 0;
+        for (int i = 0; i < count; ++i) {
+            int node = allocate(areas[i]);
+            int last = NIL;
+            while (top > 0 && prio[stack[top - 1]] < prio[node]) {
+                last = stack[--top];
+            }
+            left[node] = last;
+            if (top > 0) right[stack[top - 1]] = node;
+            stack[top++] = node;
+        }
+        root = (top > 0) ? stack[0] : NIL;
+        updateAll(root);
+    }
+
+    int size() {
+        return count;
+    }
+
+    // Новое значение площади сегмента i
+    void set(int i, double value) {
+        setAt(root, i, value);
+    }
+
+    // Вставка сегмента с площадью value на позицию i (сегменты i.. сдвигаются вправо)
+    void insert(int i, double value) {
+        int node = allocate(value);
+        long parts = split(root, i);
+        root = merge(merge(first(parts), node), second(parts));
+        count++;
+    }
+
+    // Удаление сегмента i (сегменты правее сдвигаются влево)
+    void remove(int i) {
+        long parts = split(root, i);
+        long rest = split(second(parts), 1);
+        release(first(rest));
+        root = merge(first(parts), second(rest));
+        count--;
+    }
+
+    // Сумма площадей сегментов 0..k-1
+    double prefix(int k) {
+        double result = 0;
+        int t = root;
+        while (t != NIL && k > 0) {
+            int l = left[t];
+            if (k <= size[l]) {
+                t = l;
+            } else {
+                result += sum[l] + area[t];
+                k -= size[l] + 1;
+                t = right[t];
+            }
+        }
+        return result;
+    }
+
+    private void setAt(int t, int i, double value) {
+        int l = left[t];
+        if (i < size[l]) {
+            setAt(l, i, value);
+        } else if (i == size[l]) {
+            area[t] = value;
+        } else {
+            setAt(right[t], i - size[l] - 1, value);
+        }
+        update(t);
+    }
+
+    // Делит поддерево t на первые k узлов и остальные; корни обеих частей упакованы в long
+    private long split(int t, int k) {
+        if (t == NIL) return pack(NIL, NIL);
+        int l = left[t];
+        if (k <= size[l]) {
+            long parts = split(l, k);
+            left[t] = second(parts);
+            update(t);
+            return pack(first(parts), t);
+        }
+        long parts = split(right[t], k - size[l] - 1);
+        right[t] = first(parts);
+        update(t);
+        return pack(t, second(parts));
+    }
+
+    // Склеивает поддеревья a и b (все узлы a левее узлов b)
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (prio[a] >= prio[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+        sum[t] = sum[left[t]] + area[t] + sum[right[t]];
+    }
+
+    private void updateAll(int t) {
+        if (t == NIL) return;
+        updateAll(left[t]);
+        updateAll(right[t]);
+        update(t);
+    }
+
+    private int allocate(double value) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = right[node];
+        } else {
+            node = ++allocated;
+            if (node == area.length) grow();
+        }
+        area[node] = value;
+        sum[node] = value;
+        size[node] = 1;
+        left[node] = NIL;
+        right[node] = NIL;
+        prio[node] = nextPriority();
+        return node;
+    }
+
+    private void release(int node) {
+        right[node] = free;
+        free = node;
+    }
+
+    private void grow() {
+        int capacity = area.length * 3 / 2 + 1;
+        area = Arrays.copyOf(area, capacity);
+        sum = Arrays.copyOf(sum, capacity);
+        size = Arrays.copyOf(size, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        prio = Arrays.copyOf(prio, capacity);
+    }
+
+    private int nextPriority() {
+        int s = seed;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        seed = s;
+        return s;
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    private static int first(long parts) {
+        return (int) (parts >>> 32);
+    }
+
+    private static int second(long parts) {
+        return (int) parts;
+    }
+}
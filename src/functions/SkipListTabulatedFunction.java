@@ -0,0 +1,528 @@
+package functions;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+/*
+ * Табулированная функция на индексируемом списке с пропусками (skip list).
+ * Каждая ссылка уровня хранит ширину — на сколько позиций она перескакивает, поэтому и поиск по x,
+ * и доступ по индексу занимают O(log n) в среднем. addPoint и deletePoint не сдвигают массивы
+ * и не проходят список целиком: тоже O(log n) в среднем. Правила EPSILON те же, что у остальных реализаций.
+ *
+ * Исключения:
+ *  IllegalArgumentException: некорректные параметры конструкторов
+ *  FunctionPointIndexOutOfBoundsException: неверный индекс точки
+ *  InappropriateFunctionPointException: нарушен порядок по x или повтор x
+ *  IllegalStateException: попытка удалить точку при количестве < 3
+ */
+public class SkipListTabulatedFunction implements TabulatedFunction, java.io.Serializable, Cloneable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_LEVEL = 32;
+
+    private static final double EPSILON = 1e-9;
+    private static boolean eq(double a, double b) { return Math.abs(a - b) <= EPSILON; }
+    private static boolean lt(double a, double b) { return a <  b - EPSILON; }
+    private static boolean gt(double a, double b) { return a >  b + EPSILON; }
+
+    // Узел списка: точка и ссылки по уровням. width[l] — на сколько позиций вперёд ведёт next[l]
+    // (при next[l] == null не используется). prev — обратная ссылка нижнего уровня
+    private static final class Node {
+        double x, y;
+        final Node[] next;
+        final int[] width;
+        Node prev;
+
+        Node(double x, double y, int height) {
+            this.x = x;
+            this.y = y;
+            this.next = new Node[height];
+            this.width = new int[height];
+        }
+    }
+
+    private transient Node head;        // заголовок (позиция -1) со ссылками всех уровней
+    private transient Node tail;        // последняя точка
+    private transient int levels;       // количество используемых уровней
+    private transient int size;
+    private transient long seed;        // состояние генератора высот (xorshift)
+    private transient Node lastSegment; // начало последнего найденного сегмента (подсказка для поиска)
+
+    private void initEmpty() {
+        head = new Node(Double.NaN, Double.NaN, MAX_LEVEL);
+        tail = head;
+        levels = 1;
+        size = 0;
+        seed = 0x9E3779B97F4A7C15L;
+        lastSegment = null;
+    }
+
+    // Конструктор получающий все точки сразу, в виде массива
+    public SkipListTabulatedFunction(FunctionPoint[] arr) {
+        if (arr == null || arr.length < 2) // если точек < 2
+            throw new IllegalArgumentException("At least 2 points required");
+        // Проверка строгого порядка по x и отсутствия дублирования x
+        for (int i = 1; i < arr.length; ++i) {
+            if (!lt(arr[i - 1].getX(), arr[i].getX()))
+                throw new IllegalArgumentException("Points must be strictly increasing by x");
+        }
+        initEmpty();
+        Appender appender = new Appender();
+        for (FunctionPoint p : arr) {
+            appender.append(p.getX(), p.getY());
+        }
+    }
+
+    // Конструктор [leftX; rightX], pointsCount точек, все y=0
+    public SkipListTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("pointsCount must be >= 2");
+        }
+        initEmpty();
+        Appender appender = new Appender();
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; ++i) {
+            appender.append(leftX + i * step, 0.0);
+        }
+    }
+
+    // Конструктор: [leftX; rightX], значения y — из массива
+    public SkipListTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (rightX <= leftX) {
+            throw new IllegalArgumentException("leftX must be < rightX");
+        }
+        if (values == null || values.length < 2) {
+            throw new IllegalArgumentException("values length must be >= 2");
+        }
+        initEmpty();
+        Appender appender = new Appender();
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; ++i) {
+            appender.append(leftX + i * step, values[i]);
+        }
+    }
+
+    // Конструктор фабрики: массивы уже проверены TabulatedFunctions.checkPoints
+    private SkipListTabulatedFunction(double[] xs, double[] ys) {
+        initEmpty();
+        Appender appender = new Appender();
+        for (int i = 0; i < xs.length; ++i) {
+            appender.append(xs[i], ys[i]);
+        }
+    }
+
+    // Случайная высота узла: уровень l+1 появляется с вероятностью 1/2 от уровня l
+    private int randomLevel() {
+        long s = seed;
+        s ^= s << 13;
+        s ^= s >>> 7;
+        s ^= s << 17;
+        seed = s;
+        return Math.min(1 + Long.numberOfTrailingZeros(s), MAX_LEVEL);
+    }
+
+    // Построение списка добавлением в конец за O(1) на точку (x должен быть больше всех имеющихся):
+    // помнит последний узел каждого уровня и его позицию
+    private final class Appender {
+        private final Node[] last = new Node[MAX_LEVEL];
+        private final int[] lastPos = new int[MAX_LEVEL];
+
+        Appender() {
+            Arrays.fill(last, head);
+            Arrays.fill(lastPos, -1);
+        }
+
+        void append(double x, double y) {
+            int h = randomLevel();
+            if (h > levels) levels = h;
+            Node node = new Node(x, y, h);
+            int pos = size;
+            for (int l = 0; l < h; ++l) {
+                last[l].next[l] = node;
+                last[l].width[l] = pos - lastPos[l];
+                last[l] = node;
+                lastPos[l] = pos;
+            }
+            node.prev = tail;
+            tail = node;
+            size++;
+        }
+    }
+
+    private void requireIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new FunctionPointIndexOutOfBoundsException("index=" + index);
+        }
+    }
+
+    // Узел с позицией index: спуск по уровням с суммированием ширин, O(log n)
+    private Node nodeAt(int index) {
+        requireIndex(index);
+        Node cur = head;
+        int pos = -1;
+        for (int l = levels - 1; l >= 0; --l) {
+            while (cur.next[l] != null && pos + cur.width[l] <= index) {
+                pos += cur.width[l];
+                cur = cur.next[l];
+            }
+        }
+        return cur;
+    }
+
+    // Последний узел с x_i <= x (или head, если таких нет)
+    private Node floor(double x) {
+        Node cur = head;
+        for (int l = levels - 1; l >= 0; --l) {
+            while (cur.next[l] != null && cur.next[l].x <= x) cur = cur.next[l];
+        }
+        return cur;
+    }
+
+    // Начало сегмента [x_i, x_{i+1}], где x_i <= x < x_{i+1} (с прижатием к первому и последнему сегментам).
+    // Сначала проверяются последний найденный сегмент и его правый сосед, иначе — спуск по уровням.
+    private Node findSegment(double x) {
+        Node hint = lastSegment;
+        if (hint != null && hint != tail && hint.x <= x) {
+            Node n1 = hint.next[0];
+            if (n1 == tail || x < n1.x) return hint;
+            Node n2 = n1.next[0];
+            if (n2 == tail || x < n2.x) return lastSegment = n1;
+        }
+        Node cur = floor(x);
+        if (cur == head) cur = head.next[0];
+        else if (cur == tail) cur = tail.prev;
+        return lastSegment = cur;
+    }
+
+    // Методы интерфейса TabulatedFunction
+
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return (size == 0) ? Double.NaN : head.next[0].x;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return (size == 0) ? Double.NaN : tail.x;
+    }
+
+    // Значение функции в точке x (с эпсилоном только для алгоритма)
+    @Override
+    public double getFunctionValue(double x) {
+        if (size == 0) return Double.NaN;
+        if (lt(x, head.next[0].x) || gt(x, tail.x)) return Double.NaN;
+        if (size == 1) return tail.y;
+
+        Node seg = findSegment(x);
+        Node right = seg.next[0];
+        double x0 = seg.x, x1 = right.x;
+        // совпадение по x (левый узел проверяется первым)
+        if (eq(x, x0)) return seg.y;
+        if (eq(x, x1)) return right.y;
+        return seg.y + (right.y - seg.y) * (x - x0) / (x1 - x0);
+    }
+
+    // Пакетное вычисление: для упорядоченного по возрастанию аргумента — один проход
+    // по нижнему уровню списка, иначе поточечно
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        if (size < 2 || !TabulatedFunctions.isSorted(xs)) {
+            TabulatedFunction.super.getFunctionValues(xs, out);
+            return;
+        }
+        double left = head.next[0].x;
+        double right = tail.x;
+        Node lastStart = tail.prev;
+        Node cur = null; // проход начинается с сегмента первого x внутри таблицы, а не с головы
+        for (int k = 0; k < xs.length; ++k) {
+            double x = xs[k];
+            if (lt(x, left) || gt(x, right)) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            if (cur == null) cur = findSegment(x);
+            while (cur != lastStart && cur.next[0].x <= x) cur = cur.next[0];
+            Node nx = cur.next[0];
+            if (eq(x, cur.x)) out[k] = cur.y;
+            else if (eq(x, nx.x)) out[k] = nx.y;
+            else out[k] = cur.y + (nx.y - cur.y) * (x - cur.x) / (nx.x - cur.x);
+        }
+        if (cur != null) lastSegment = cur; // следующая порция продолжит с этого сегмента
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        Node n = nodeAt(index);
+        return new FunctionPoint(n.x, n.y);
+    }
+
+    // Заменяет точку по индексу на переданную (сохранение строгого порядка по x)
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        Node n = nodeAt(index);
+        checkNeighbors(n, point.getX());
+        n.x = point.getX();
+        n.y = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return nodeAt(index).x;
+    }
+
+    // Меняет x точки по индексу. Порядок по x должен сохраниться
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        Node n = nodeAt(index);
+        checkNeighbors(n, x);
+        n.x = x;
+    }
+
+    // Новый x должен остаться строго между соседями
+    private void checkNeighbors(Node n, double x) throws InappropriateFunctionPointException {
+        if (n.prev != head && !gt(x, n.prev.x))
+            throw new InappropriateFunctionPointException("x must be > left neighbor");
+        if (n.next[0] != null && !lt(x, n.next[0].x))
+            throw new InappropriateFunctionPointException("x must be < right neighbor");
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return nodeAt(index).y;
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        nodeAt(index).y = y;
+    }
+
+    // Удаляет точку по индексу: перестраиваются только ссылки, ведущие к ней или над ней. Минимум 3 точки.
+    @Override
+    public void deletePoint(int index) {
+        requireIndex(index);
+        if (size < 3) throw new IllegalStateException("cannot delete when points count < 3");
+        // на каждом уровне — последний узел с позицией < index
+        Node[] update = new Node[levels];
+        Node cur = head;
+        int pos = -1;
+        for (int l = levels - 1; l >= 0; --l) {
+            while (cur.next[l] != null && pos + cur.width[l] < index) {
+                pos += cur.width[l];
+                cur = cur.next[l];
+            }
+            update[l] = cur;
+        }
+        Node target = cur.next[0];
+        for (int l = 0; l < levels; ++l) {
+            Node p = update[l];
+            if (p.next[l] == target) {
+                p.next[l] = target.next[l];
+                p.width[l] += target.width[l] - 1;
+            } else if (p.next[l] != null) {
+                p.width[l]--;
+            }
+        }
+        if (target.next[0] != null) target.next[0].prev = target.prev;
+        else tail = target.prev;
+        while (levels > 1 && head.next[levels - 1] == null) levels--;
+        if (lastSegment == target) lastSegment = null;
+        size--;
+    }
+
+    // Добавляет новую точку и сохраняет порядок по x: спуск по уровням с запоминанием
+    // предшественников и их позиций, затем вставка узла случайной высоты
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (point == null) return;
+        double x = point.getX();
+        // на каждом уровне — последний узел с x_i, строго меньшим x (с учётом EPSILON)
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node cur = head;
+        int pos = -1;
+        for (int l = levels - 1; l >= 0; --l) {
+            while (cur.next[l] != null && lt(cur.next[l].x, x)) {
+                pos += cur.width[l];
+                cur = cur.next[l];
+            }
+            update[l] = cur;
+            rank[l] = pos;
+        }
+        if (cur.next[0] != null && eq(cur.next[0].x, x)) {
+            throw new InappropriateFunctionPointException("duplicate x");
+        }
+
+        int h = randomLevel();
+        for (int l = levels; l < h; ++l) {
+            update[l] = head;
+            rank[l] = -1;
+        }
+        if (h > levels) levels = h;
+
+        Node node = new Node(x, point.getY(), h);
+        int insertPos = pos + 1;
+        for (int l = 0; l < h; ++l) {
+            Node p = update[l];
+            node.next[l] = p.next[l];
+            if (p.next[l] != null) {
+                // старая позиция следующего узла rank + width, после вставки она на 1 больше
+                node.width[l] = rank[l] + p.width[l] + 1 - insertPos;
+            }
+            p.next[l] = node;
+            p.width[l] = insertPos - rank[l];
+        }
+        // над новым узлом ссылки становятся длиннее на одну позицию
+        for (int l = h; l < levels; ++l) {
+            if (update[l].next[l] != null) update[l].width[l]++;
+        }
+        node.prev = update[0];
+        if (node.next[0] != null) node.next[0].prev = node;
+        else tail = node;
+        size++;
+    }
+
+    // Заменяет все y одним проходом по нижнему уровню (вместо спуска по индексу для каждой точки)
+    @Override
+    public void setPointsY(double[] ys) {
+        TabulatedFunctions.checkValues(size, ys);
+        int i = 0;
+        for (Node n = head.next[0]; n != null; n = n.next[0]) {
+            n.y = ys[i++];
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (Node n = head.next[0]; n != null; n = n.next[0]) {
+            if (n != head.next[0]) sb.append(", ");
+            sb.append('(').append(n.x).append("; ").append(n.y).append(')');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) { // Равенство, если длина и все (x,y) совпадают с точностью EPSILON
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction tf)) return false;
+        if (size != tf.getPointsCount()) return false;
+        Node n = head.next[0];
+        for (FunctionPoint p : tf) {
+            if (!eq(n.x, p.getX()) || !eq(n.y, p.getY())) return false;
+            n = n.next[0];
+        }
+        return true;
+    }
+
+    // Хеш совместим с остальными реализациями
+    @Override
+    public int hashCode() {
+        int h = size;
+        int i = 0;
+        for (Node n = head.next[0]; n != null; n = n.next[0], ++i) {
+            int ph = new FunctionPoint(n.x, n.y).hashCode();
+            h ^= Integer.rotateLeft(ph, (i & 15));
+        }
+        return h;
+    }
+
+    // Копия строится добавлением в конец за O(n); высоты узлов выбираются заново
+    @Override
+    public SkipListTabulatedFunction clone() {
+        try {
+            SkipListTabulatedFunction copy = (SkipListTabulatedFunction) super.clone();
+            copy.initEmpty();
+            Appender appender = copy.new Appender();
+            for (Node n = head.next[0]; n != null; n = n.next[0]) {
+                appender.append(n.x, n.y);
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // Сериализуются только точки: структура уровней восстанавливается при чтении
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Node n = head.next[0]; n != null; n = n.next[0]) {
+            out.writeDouble(n.x);
+            out.writeDouble(n.y);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initEmpty();
+        int n = in.readInt();
+        Appender appender = new Appender();
+        for (int i = 0; i < n; ++i) {
+            double x = in.readDouble();
+            double y = in.readDouble();
+            appender.append(x, y);
+        }
+    }
+
+    //итератор
+    @Override
+    public java.util.Iterator<FunctionPoint> iterator() {
+        return new java.util.Iterator<FunctionPoint>() {
+            private Node current = head.next[0];
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext())
+                    throw new java.util.NoSuchElementException("Все точки уже обработаны");
+                FunctionPoint p = new FunctionPoint(current.x, current.y);
+                current = current.next[0];
+                return p;
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Метод remove() не реализован для данного итератора");
+            }
+        };
+    }
+
+    // фабрика
+    public static class SkipListTabulatedFunctionFactory implements TabulatedFunctionFactory {
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new SkipListTabulatedFunction(leftX, rightX, pointsCount);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new SkipListTabulatedFunction(leftX, rightX, values);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new SkipListTabulatedFunction(points);
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+            TabulatedFunctions.checkPoints(xs, ys);
+            return new SkipListTabulatedFunction(xs, ys);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+// Операции над табулированными функциями с табулированным результатом: один проход слиянием
+// по сеткам x обоих аргументов, значения считаются пакетно, результат создаётся текущей фабрикой.
+final class TabulatedArithmetic {
+
+    private static final double EPSILON = 1e-9;
+    private static boolean lt(double a, double b) { return a <  b - EPSILON; }
+    private static boolean gt(double a, double b) { return a >  b + EPSILON; }
+
+    private TabulatedArithmetic() {
+        throw new AssertionError("No instances");
+    }
+
+    // Поточечная операция на объединении сеток внутри пересечения областей определения.
+    // Для суммы и разности результат совпадает с обёрткой Sum точно; для произведения —
+    // в узлах объединённой сетки (между ними произведение двух отрезков — уже не отрезок)
+    static TabulatedFunction combine(TabulatedFunction f1, TabulatedFunction f2, DoubleBinaryOperator op) {
+        if (f1 == null || f2 == null) {
+            throw new IllegalArgumentException("Functions must not be null");
+        }
+        double[] xs1 = xsOf(f1);
+        double[] xs2 = xsOf(f2);
+        double left = Math.max(xs1[0], xs2[0]);
+        double right = Math.min(xs1[xs1.length - 1], xs2[xs2.length - 1]);
+        if (!lt(left, right)) {
+            throw new IllegalArgumentException("Domains of tabulated functions do not overlap");
+        }
+        double[] grid = new double[xs1.length + xs2.length];
+        int n = 0;
+        int i = 0, j = 0;
+        while (i < xs1.length || j < xs2.length) {
+            double x = (j == xs2.length || (i < xs1.length && xs1[i] <= xs2[j])) ? xs1[i++] : xs2[j++];
+            if (lt(x, left) || gt(x, right)) continue;
+            if (n > 0 && !lt(grid[n - 1], x)) continue; // совпадающие с точностью EPSILON узлы — один узел
+            grid[n++] = x;
+        }
+        grid = Arrays.copyOf(grid, n);
+        double[] a = new double[n];
+        double[] b = new double[n];
+        f1.getFunctionValues(grid, a);
+        f2.getFunctionValues(grid, b);
+        for (int k = 0; k < n; ++k) {
+            a[k] = op.applyAsDouble(a[k], b[k]);
+        }
+        return create(grid, a);
+    }
+
+    // Композиция outer(inner(x)) на области inner. Кроме узлов inner добавляются точки,
+    // где inner пересекает узлы outer: между соседними узлами результата обе функции линейны,
+    // поэтому табулированный результат совпадает с обёрткой Composition во всей области
+    static TabulatedFunction composition(TabulatedFunction outer, TabulatedFunction inner) {
+        if (outer == null || inner == null) {
+            throw new IllegalArgumentException("Functions must not be null");
+        }
+        double[] outerXs = xsOf(outer);
+        int m = inner.getPointsCount();
+        double[] xs = new double[m];
+        double[] gs = new double[m];
+        int idx = 0;
+        for (FunctionPoint p : inner) {
+            xs[idx] = p.getX();
+            gs[idx] = p.getY();
+            idx++;
+        }
+
+        double[] grid = new double[m];
+        int n = 0;
+        grid[n++] = xs[0];
+        for (int k = 0; k + 1 < m; ++k) {
+            double a = xs[k], b = xs[k + 1];
+            double ga = gs[k], gb = gs[k + 1];
+            if (!Double.isNaN(ga) && !Double.isNaN(gb) && ga != gb) {
+                // узлы outer строго между ga и gb, в порядке движения от ga к gb
+                double lo = Math.min(ga, gb), hi = Math.max(ga, gb);
+                int from = upperBound(outerXs, lo);
+                int to = lowerBound(outerXs, hi);
+                for (int t = 0; t < to - from; ++t) {
+                    double g = (ga < gb) ? outerXs[from + t] : outerXs[to - 1 - t];
+                    double x = a + (g - ga) / (gb - ga) * (b - a);
+                    if (lt(grid[n - 1], x) && lt(x, b)) {
+                        if (n == grid.length) grid = Arrays.copyOf(grid, grid.length * 2);
+                        grid[n++] = x;
+                    }
+                }
+            }
+            if (n == grid.length) grid = Arrays.copyOf(grid, grid.length * 2);
+            grid[n++] = b;
+        }
+        grid = Arrays.copyOf(grid, n);
+        double[] values = new double[n];
+        inner.getFunctionValues(grid, values);
+        outer.getFunctionValues(values, values);
+        return create(grid, values);
+    }
+
+    // Значения функции в узлах сетки grid, лежащих в области определения функции
+    static TabulatedFunction resample(Function function, TabulatedFunction grid) {
+        if (function == null || grid == null) {
+            throw new IllegalArgumentException("Functions must not be null");
+        }
+        double left = function.getLeftDomainBorder();
+        double right = function.getRightDomainBorder();
+        double[] all = xsOf(grid);
+        int from = 0, to = all.length;
+        while (from < to && lt(all[from], left)) from++;
+        while (to > from && gt(all[to - 1], right)) to--;
+        if (to - from < 2) {
+            throw new IllegalArgumentException("Less than 2 grid points lie in function domain");
+        }
+        double[] xs = Arrays.copyOfRange(all, from, to);
+        double[] ys = new double[xs.length];
+        function.getFunctionValues(xs, ys);
+        return create(xs, ys);
+    }
+
+    private static double[] xsOf(TabulatedFunction f) {
+        double[] xs = new double[f.getPointsCount()];
+        int i = 0;
+        for (FunctionPoint p : f) {
+            xs[i++] = p.getX();
+        }
+        if (i < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+        return xs;
+    }
+
+    // Первый индекс с xs[i] > value (с учётом EPSILON: узлы, совпадающие с value, не берутся)
+    private static int upperBound(double[] xs, double value) {
+        int lo = 0, hi = xs.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (gt(xs[mid], value)) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // Первый индекс с xs[i] >= value (с учётом EPSILON)
+    private static int lowerBound(double[] xs, double value) {
+        int lo = 0, hi = xs.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lt(xs[mid], value)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Массивы создаются здесь же нужной длины и отдаются фабрике без копирования
+    private static TabulatedFunction create(double[] xs, double[] ys) {
+        return TabulatedFunctions.createTabulatedFunction(xs, ys, true);
+    }
+}
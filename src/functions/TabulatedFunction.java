@@ -16,4 +16,30 @@ public interface TabulatedFunction extends Function, Cloneable, Iterable<Functio
     void deletePoint(int index);
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
 
+    // Пакетные изменения: порядок по x проверяется один раз для всей партии, при ошибке таблица не меняется.
+    // Реализации по умолчанию сводятся к поточечным операциям; конкретные классы переопределяют их слиянием.
+
+    // Добавляет точки в любом порядке; ни один x не должен совпадать с имеющимся или другим x партии
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (FunctionPoint p : TabulatedFunctions.prepareBatch(this, points)) {
+            addPoint(p);
+        }
+    }
+
+    // Удаляет точки с индексами [from; to). Должно остаться не меньше 2 точек
+    default void deleteRange(int from, int to) {
+        TabulatedFunctions.checkRange(getPointsCount(), from, to);
+        for (int i = to - 1; i >= from; --i) {
+            deletePoint(i);
+        }
+    }
+
+    // Заменяет все y: ys[i] становится ординатой точки i
+    default void setPointsY(double[] ys) {
+        TabulatedFunctions.checkValues(getPointsCount(), ys);
+        for (int i = 0; i < ys.length; ++i) {
+            setPointY(i, ys[i]);
+        }
+    }
+
 }
@@ -4,4 +4,20 @@ public interface TabulatedFunctionFactory {
     TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount);
     TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values);
     TabulatedFunction createTabulatedFunction(FunctionPoint[] points);
+
+    // Таблица из параллельных массивов x (строго возрастают) и y. При owned == true вызывающий код
+    // отдаёт массивы и больше их не меняет — реализация на массивах double хранит их без копирования.
+    // По умолчанию — через FunctionPoint[] для фабрик, которые знают только три формы выше
+    default TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+        TabulatedFunctions.checkPoints(xs, ys);
+        FunctionPoint[] points = new FunctionPoint[xs.length];
+        for (int i = 0; i < xs.length; ++i) {
+            points[i] = new FunctionPoint(xs[i], ys[i]);
+        }
+        return createTabulatedFunction(points);
+    }
+
+    default TabulatedFunction createTabulatedFunction(double[] xs, double[] ys) {
+        return createTabulatedFunction(xs, ys, false);
+    }
 }
@@ -0,0 +1,8 @@
+package functions;
+
+// Регистрация реализации TabulatedFunction через ServiceLoader (META-INF/services/functions.TabulatedFunctionProvider):
+// после этого createTabulatedFunction(Class, ...) для functionClass() вызывает factory() без рефлексии
+public interface TabulatedFunctionProvider {
+    Class<? extends TabulatedFunction> functionClass();
+    TabulatedFunctionFactory factory();
+}
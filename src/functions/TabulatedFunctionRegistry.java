@@ -0,0 +1,153 @@
+package functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Фабрики для createTabulatedFunction(Class, ...) и остальных методов TabulatedFunctions с указанием класса.
+ * Класс разрешается один раз: сначала ищется зарегистрированная фабрика (встроенные реализации,
+ * провайдеры ServiceLoader, явная регистрация), иначе три публичных конструктора
+ * (double, double, int), (double, double, double[]) и (FunctionPoint[]) превращаются в MethodHandle.
+ * Результат кешируется в ClassValue — повторные вызовы не трогают рефлексию, не упаковывают аргументы
+ * и не держат класс от выгрузки.
+ */
+final class TabulatedFunctionRegistry {
+
+    private static final MethodType BY_COUNT =
+            MethodType.methodType(TabulatedFunction.class, double.class, double.class, int.class);
+    private static final MethodType BY_VALUES =
+            MethodType.methodType(TabulatedFunction.class, double.class, double.class, double[].class);
+    private static final MethodType BY_POINTS =
+            MethodType.methodType(TabulatedFunction.class, FunctionPoint[].class);
+
+    private static final ConcurrentHashMap<Class<?>, TabulatedFunctionFactory> REGISTERED = new ConcurrentHashMap<>();
+
+    private static final ClassValue<TabulatedFunctionFactory> FACTORIES = new ClassValue<>() {
+        @Override
+        protected TabulatedFunctionFactory computeValue(Class<?> type) {
+            TabulatedFunctionFactory factory = REGISTERED.get(type);
+            return (factory != null) ? factory : resolve(type);
+        }
+    };
+
+    static {
+        REGISTERED.put(ArrayTabulatedFunction.class, new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory());
+        REGISTERED.put(LinkedListTabulatedFunction.class,
+                new LinkedListTabulatedFunction.LinkedListTabulatedFunctionFactory());
+        REGISTERED.put(PrimitiveArrayTabulatedFunction.class,
+                new PrimitiveArrayTabulatedFunction.PrimitiveArrayTabulatedFunctionFactory());
+        REGISTERED.put(SkipListTabulatedFunction.class, new SkipListTabulatedFunction.SkipListTabulatedFunctionFactory());
+        REGISTERED.put(ConcurrentTabulatedFunction.class,
+                new ConcurrentTabulatedFunction.ConcurrentTabulatedFunctionFactory());
+        REGISTERED.put(PersistentTabulatedFunction.class,
+                new PersistentTabulatedFunction.PersistentTabulatedFunctionFactory());
+        // Ошибка в описании провайдера обнаруживается при первом обращении к реестру, а не при создании функции
+        try {
+            for (TabulatedFunctionProvider provider : ServiceLoader.load(TabulatedFunctionProvider.class,
+                    TabulatedFunctionRegistry.class.getClassLoader())) {
+                register(provider.functionClass(), provider.factory());
+            }
+        } catch (ServiceConfigurationError e) {
+            throw new IllegalStateException("Ошибка загрузки TabulatedFunctionProvider", e);
+        }
+    }
+
+    private TabulatedFunctionRegistry() {
+        throw new AssertionError("No instances");
+    }
+
+    static TabulatedFunctionFactory factoryFor(Class<? extends TabulatedFunction> functionClass) {
+        if (functionClass == null)
+            throw new IllegalArgumentException("Класс функции не должен быть null");
+        return FACTORIES.get(functionClass);
+    }
+
+    static void register(Class<? extends TabulatedFunction> functionClass, TabulatedFunctionFactory factory) {
+        if (functionClass == null)
+            throw new IllegalArgumentException("Класс функции не должен быть null");
+        if (factory == null)
+            throw new IllegalArgumentException("Фабрика не должна быть null");
+        if (!TabulatedFunction.class.isAssignableFrom(functionClass))
+            throw new IllegalArgumentException(functionClass.getName() + " не реализует TabulatedFunction");
+        REGISTERED.put(functionClass, factory);
+        FACTORIES.remove(functionClass); // уже закешированное значение вычислится заново
+    }
+
+    // Проверка при регистрации: отсутствующий конструктор — ошибка сейчас, а не при первом вызове
+    static void register(Class<? extends TabulatedFunction> functionClass) {
+        if (functionClass == null)
+            throw new IllegalArgumentException("Класс функции не должен быть null");
+        register(functionClass, resolve(functionClass));
+    }
+
+    private static TabulatedFunctionFactory resolve(Class<?> type) {
+        if (!TabulatedFunction.class.isAssignableFrom(type))
+            throw new IllegalArgumentException(type.getName() + " не реализует TabulatedFunction");
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+            throw new IllegalArgumentException(type.getName() + " — абстрактный класс");
+        return new HandleFactory(
+                constructor(type, double.class, double.class, int.class).asType(BY_COUNT),
+                constructor(type, double.class, double.class, double[].class).asType(BY_VALUES),
+                constructor(type, FunctionPoint[].class).asType(BY_POINTS));
+    }
+
+    private static MethodHandle constructor(Class<?> type, Class<?>... parameters) {
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class, parameters));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Нет публичного конструктора " + MethodType.methodType(void.class, parameters)
+                    + " в классе " + type.getName(), e);
+        }
+    }
+
+    // Фабрика поверх найденных конструкторов; invokeExact вызывает конструктор без упаковки и массива аргументов
+    private static final class HandleFactory implements TabulatedFunctionFactory {
+        private final MethodHandle byCount;
+        private final MethodHandle byValues;
+        private final MethodHandle byPoints;
+
+        HandleFactory(MethodHandle byCount, MethodHandle byValues, MethodHandle byPoints) {
+            this.byCount = byCount;
+            this.byValues = byValues;
+            this.byPoints = byPoints;
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            try {
+                return (TabulatedFunction) byCount.invokeExact(leftX, rightX, pointsCount);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Ошибка при создании объекта", e);
+            }
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            try {
+                return (TabulatedFunction) byValues.invokeExact(leftX, rightX, values);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Ошибка при создании объекта", e);
+            }
+        }
+
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            try {
+                return (TabulatedFunction) byPoints.invokeExact(points);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Ошибка при создании объекта", e);
+            }
+        }
+    }
+}
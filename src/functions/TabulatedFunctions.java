@@ -1,9 +1,19 @@
 package functions;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.Timer;
+import metrics.jfr.TabulateEvent;
+import metrics.jfr.TabulatedIoEvent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class TabulatedFunctions {
 
@@ -29,52 +39,47 @@ public final class TabulatedFunctions {
         return factory.createTabulatedFunction(points);
     }
 
+    // Из параллельных массивов x и y; массивы копируются
+    public static TabulatedFunction createTabulatedFunction(double[] xs, double[] ys) {
+        return factory.createTabulatedFunction(xs, ys, false);
+    }
+
+    // Из параллельных массивов x и y; при owned == true массивы передаются фабрике без копирования
+    public static TabulatedFunction createTabulatedFunction(double[] xs, double[] ys, boolean owned) {
+        return factory.createTabulatedFunction(xs, ys, owned);
+    }
+
+    // Методы с указанием класса берут фабрику из TabulatedFunctionRegistry: конструкторы класса
+    // находятся один раз и дальше вызываются через MethodHandle
     public static TabulatedFunction createTabulatedFunction(
             Class<? extends TabulatedFunction> functionClass,
             double leftX, double rightX, int pointsCount) {
-
-        try {
-            // Ищем конструктор с параметрами (double, double, int)
-            Constructor<? extends TabulatedFunction> constructor =
-                    functionClass.getConstructor(double.class, double.class, int.class);
-            // Создаем объект с помощью найденного конструктора
-            return constructor.newInstance(leftX, rightX, pointsCount);
-        } catch (Exception e) {
-            // Отлавливаем любые исключения рефлексии
-            throw new IllegalArgumentException("Ошибка при создании объекта через рефлексию", e);
-        }
+        return TabulatedFunctionRegistry.factoryFor(functionClass).createTabulatedFunction(leftX, rightX, pointsCount);
     }
 
 
     public static TabulatedFunction createTabulatedFunction(
             Class<? extends TabulatedFunction> functionClass,
             double leftX, double rightX, double[] values) {
-
-        try {
-            // Ищем конструктор с параметрами (double, double, double[])
-            Constructor<? extends TabulatedFunction> constructor =
-                    functionClass.getConstructor(double.class, double.class, double[].class);
-            // Создаем объект с помощью найденного конструктора
-            return constructor.newInstance(leftX, rightX, values);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Ошибка при создании объекта через рефлексию", e);
-        }
+        return TabulatedFunctionRegistry.factoryFor(functionClass).createTabulatedFunction(leftX, rightX, values);
     }
 
 
     public static TabulatedFunction createTabulatedFunction(
             Class<? extends TabulatedFunction> functionClass,
             FunctionPoint[] points) {
+        return TabulatedFunctionRegistry.factoryFor(functionClass).createTabulatedFunction(points);
+    }
 
-        try {
-            // Ищем конструктор с параметрами (FunctionPoint[])
-            Constructor<? extends TabulatedFunction> constructor =
-                    functionClass.getConstructor(FunctionPoint[].class);
-            // Создаем объект с помощью найденного конструктора
-            return constructor.newInstance((Object) points);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Ошибка при создании объекта через рефлексию", e);
-        }
+    // Регистрация класса для методов с указанием класса: его конструкторы проверяются сразу
+    public static void registerTabulatedFunctionClass(Class<? extends TabulatedFunction> functionClass) {
+        TabulatedFunctionRegistry.register(functionClass);
+    }
+
+    // Регистрация фабрики, которой будут создаваться объекты класса functionClass
+    public static void registerTabulatedFunctionClass(
+            Class<? extends TabulatedFunction> functionClass, TabulatedFunctionFactory factory) {
+        TabulatedFunctionRegistry.register(functionClass, factory);
     }
 
     public static TabulatedFunction tabulate(
@@ -91,14 +96,9 @@ public final class TabulatedFunctions {
         if (!ge(leftX, function.getLeftDomainBorder()) || !le(rightX, function.getRightDomainBorder()))
             throw new IllegalArgumentException("отрезок табуляции выходит за область определения функции");
         // Создаем массив точек
-        double step = (rightX - leftX) / (pointsCount - 1);
-        FunctionPoint[] pts = new FunctionPoint[pointsCount];
-        for (int i = 0; i < pointsCount; ++i) {
-            double x = leftX + i * step;
-            double y = function.getFunctionValue(x);
-            pts[i] = new FunctionPoint(x, y);
-        }
-        return createTabulatedFunction(functionClass, pts); // Создаем табулированную функцию через рефлексию
+        double[] ys = tabulateValues(function, leftX, rightX, new double[pointsCount], null, 0);
+        // Равномерная сетка: конструктор (leftX, rightX, values) есть у любого зарегистрированного класса
+        return TabulatedFunctionRegistry.factoryFor(functionClass).createTabulatedFunction(leftX, rightX, ys);
     }
 
     private TabulatedFunctions() {
@@ -117,8 +117,136 @@ public final class TabulatedFunctions {
         return a >= b - EPSILON;
     }
 
+    private static boolean eq(double a, double b) {
+        return Math.abs(a - b) <= EPSILON;
+    }
+
+    private static boolean lt(double a, double b) {
+        return a < b - EPSILON;
+    }
+
+    // true, если массив упорядочен по неубыванию (и не содержит NaN)
+    static boolean isSorted(double[] xs) {
+        for (int i = 1; i < xs.length; ++i) {
+            if (!(xs[i - 1] <= xs[i])) return false;
+        }
+        return xs.length == 0 || !Double.isNaN(xs[0]);
+    }
+
+    // Проверка партии для addPoints: копии точек, упорядоченные по x. Повтор x внутри партии
+    // или совпадение с точкой таблицы (с точностью EPSILON) — исключение; таблица сравнивается
+    // одним проходом слиянием
+    static FunctionPoint[] prepareBatch(TabulatedFunction function, FunctionPoint[] points)
+            throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = sortedBatch(points);
+        if (batch.length > 0) {
+            int j = 0;
+            for (FunctionPoint p : function) {
+                double x = p.getX();
+                while (j < batch.length && lt(batch[j].getX(), x)) j++;
+                if (j == batch.length) break;
+                if (eq(batch[j].getX(), x)) {
+                    throw new InappropriateFunctionPointException("duplicate x: " + batch[j].getX());
+                }
+            }
+        }
+        return batch;
+    }
+
+    // Копии точек партии, упорядоченные по x; повтор x внутри партии — исключение
+    static FunctionPoint[] sortedBatch(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        if (points == null) {
+            throw new IllegalArgumentException("points is null");
+        }
+        FunctionPoint[] batch = new FunctionPoint[points.length];
+        for (int i = 0; i < points.length; ++i) {
+            if (points[i] == null) {
+                throw new IllegalArgumentException("points[" + i + "] is null");
+            }
+            batch[i] = new FunctionPoint(points[i]);
+        }
+        Arrays.sort(batch, Comparator.comparingDouble(FunctionPoint::getX));
+        for (int i = 1; i < batch.length; ++i) {
+            if (!lt(batch[i - 1].getX(), batch[i].getX())) {
+                throw new InappropriateFunctionPointException("duplicate x in batch: " + batch[i].getX());
+            }
+        }
+        return batch;
+    }
+
+    // Проверка диапазона для deleteRange: [from; to) внутри таблицы, после удаления остаётся >= 2 точек
+    static void checkRange(int size, int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("range=[" + from + "; " + to + ")");
+        }
+        if (size - (to - from) < 2) {
+            throw new IllegalStateException("cannot leave less than 2 points");
+        }
+    }
+
+    // Проверка массива для setPointsY: по одному значению на точку
+    static void checkValues(int size, double[] ys) {
+        if (ys == null || ys.length != size) {
+            throw new IllegalArgumentException("ys length must be equal to points count");
+        }
+    }
+
+    // Проверка массивов для createTabulatedFunction(xs, ys, ...): одинаковая длина, не меньше 2 точек,
+    // x строго возрастают
+    static void checkPoints(double[] xs, double[] ys) {
+        if (xs == null || ys == null) {
+            throw new IllegalArgumentException("xs and ys must not be null");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have equal length");
+        }
+        if (xs.length < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+        for (int i = 1; i < xs.length; ++i) {
+            if (!lt(xs[i - 1], xs[i])) {
+                throw new IllegalArgumentException("Points must be strictly increasing by x");
+            }
+        }
+    }
+
     // Табуляция функции на отрезке
     public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
+        checkTabulateArguments(function, leftX, rightX, pointsCount);
+        double[] xs = new double[pointsCount];
+        double[] ys = tabulateValues(function, leftX, rightX, xs, null, 0);
+        return factory.createTabulatedFunction(xs, ys, true); // массивы отдаются фабрике без копирования
+    }
+
+    // Порог по умолчанию: столько точек вычисляет одна подзадача параллельной табуляции
+    public static final int DEFAULT_PARALLEL_TABULATE_THRESHOLD = 1 << 14;
+
+    // Параллельная табуляция в общем ForkJoinPool с порогом по умолчанию
+    public static TabulatedFunction parallelTabulate(Function function, double leftX, double rightX, int pointsCount) {
+        return parallelTabulate(function, leftX, rightX, pointsCount,
+                ForkJoinPool.commonPool(), DEFAULT_PARALLEL_TABULATE_THRESHOLD);
+    }
+
+    /*
+     * Параллельная табуляция: сетка делится на блоки по threshold точек, блоки разбирают исполнители
+     * (не больше, чем потоков в executor); исполнитель считает блок в свои буферы и переносит x и y
+     * в диапазон блока общих массивов. Узлы те же, что у tabulate (leftX + i * step с тем же step),
+     * значения в узлах не зависят от деления, поэтому результат побитово совпадает с последовательным.
+     * Сетка не длиннее threshold считается в вызывающем потоке. Функция вычисляется из нескольких потоков.
+     */
+    public static TabulatedFunction parallelTabulate(Function function, double leftX, double rightX, int pointsCount,
+                                                     Executor executor, int threshold) {
+        checkTabulateArguments(function, leftX, rightX, pointsCount);
+        if (executor == null)
+            throw new IllegalArgumentException("Исполнитель не должен быть null");
+        if (threshold < 1)
+            throw new IllegalArgumentException("Порог должен быть >= 1. Получено: " + threshold);
+        double[] xs = new double[pointsCount];
+        double[] ys = tabulateValues(function, leftX, rightX, xs, executor, threshold);
+        return factory.createTabulatedFunction(xs, ys, true);
+    }
+
+    private static void checkTabulateArguments(Function function, double leftX, double rightX, int pointsCount) {
         if (function == null) {
             throw new IllegalArgumentException("function is null");
         }
@@ -133,22 +261,161 @@ public final class TabulatedFunctions {
                 !le(rightX, function.getRightDomainBorder())) {
             throw new IllegalArgumentException("Tabulation segment lies outside function domain");
         }
+    }
 
+    // Заполняет xs сеткой leftX + i * step и возвращает значения функции в ней: один пакетный вызов
+    // getFunctionValues или, если задан executor и сетка длиннее threshold, по вызову на блок
+    private static double[] tabulateValues(Function function, double leftX, double rightX, double[] xs,
+                                           Executor executor, int threshold) {
+        int pointsCount = xs.length;
+        TabulateEvent event = new TabulateEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
         double step = (rightX - leftX) / (pointsCount - 1);
-        FunctionPoint[] pts = new FunctionPoint[pointsCount];
-        for (int i = 0; i < pointsCount; ++i) {
-            double x = leftX + i * step;
-            double y = function.getFunctionValue(x);
-            pts[i] = new FunctionPoint(x, y);
+        double[] ys = new double[pointsCount];
+        if (executor == null || pointsCount <= threshold) {
+            for (int i = 0; i < pointsCount; ++i) {
+                xs[i] = leftX + i * step;
+            }
+            function.getFunctionValues(xs, ys);
+        } else {
+            int blocks = (int) (((long) pointsCount + threshold - 1) / threshold);
+            int parallelism = (executor instanceof ForkJoinPool pool)
+                    ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+            int workers = Math.min(blocks, Math.max(parallelism, 1));
+            AtomicInteger nextBlock = new AtomicInteger();
+            CompletableFuture<?>[] parts = new CompletableFuture<?>[workers];
+            for (int w = 0; w < workers; ++w) {
+                parts[w] = CompletableFuture.runAsync(
+                        () -> tabulateBlocks(function, leftX, step, xs, ys, threshold, blocks, nextBlock), executor);
+            }
+            try {
+                CompletableFuture.allOf(parts).join();
+            } catch (CompletionException e) {
+                // исключение функции пробрасывается как есть, без обёртки
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException r) throw r;
+                if (cause instanceof Error err) throw err;
+                throw e;
+            }
+        }
+        if (measured)
+            TABULATE_TIMER.record(pointsCount, System.nanoTime() - started);
+        if (event.shouldCommit()) {
+            event.leftX = leftX;
+            event.rightX = rightX;
+            event.points = pointsCount;
+            event.commit();
         }
-        return createTabulatedFunction(pts); // теперь метод использует фабрику
+        return ys;
+    }
+
+    // Исполнитель параллельной табуляции: забирает блоки по номеру из nextBlock, пока они есть.
+    // Пакетный вызов требует массивов ровно длины блока, поэтому у исполнителя одна пара буферов на все
+    // его блоки (заново — только для последнего, неполного): выделение памяти не растёт с числом точек.
+    // После ошибки оставшиеся блоки не раздаются
+    private static void tabulateBlocks(Function function, double leftX, double step, double[] xs, double[] ys,
+                                       int threshold, int blocks, AtomicInteger nextBlock) {
+        double[] nodes = null;
+        double[] values = null;
+        try {
+            for (int b = nextBlock.getAndIncrement(); b < blocks; b = nextBlock.getAndIncrement()) {
+                int from = b * threshold;
+                int length = (int) Math.min(threshold, (long) xs.length - from);
+                if (nodes == null || nodes.length != length) {
+                    nodes = new double[length];
+                    values = new double[length];
+                }
+                for (int i = 0; i < length; ++i) {
+                    nodes[i] = leftX + (from + i) * step;
+                }
+                function.getFunctionValues(nodes, values);
+                System.arraycopy(nodes, 0, xs, from, length);
+                System.arraycopy(values, 0, ys, from, length);
+            }
+        } catch (RuntimeException | Error e) {
+            nextBlock.set(blocks);
+            throw e;
+        }
+    }
+
+    // Метрика: вызовы tabulate, суммарное время и число вычисленных точек
+    private static final Timer TABULATE_TIMER = Metrics.timer("functions.tabulate");
+
+    // Арифметика табулированных функций с табулированным результатом (создаётся текущей фабрикой).
+    // Сетка результата — объединение сеток аргументов внутри пересечения областей, один проход
+    // слиянием за O(n + m) вместо двух поисков по таблицам при каждом вычислении обёртки Sum/Mult.
+
+    // Сумма f1 + f2
+    public static TabulatedFunction sum(TabulatedFunction f1, TabulatedFunction f2) {
+        return TabulatedArithmetic.combine(f1, f2, Double::sum);
+    }
+
+    // Разность f1 - f2
+    public static TabulatedFunction difference(TabulatedFunction f1, TabulatedFunction f2) {
+        return TabulatedArithmetic.combine(f1, f2, (a, b) -> a - b);
+    }
+
+    // Произведение f1 * f2 (точно в узлах объединённой сетки)
+    public static TabulatedFunction mult(TabulatedFunction f1, TabulatedFunction f2) {
+        return TabulatedArithmetic.combine(f1, f2, (a, b) -> a * b);
+    }
+
+    // Композиция outer(inner(x)): узлы inner плюс точки, где inner проходит через узлы outer
+    public static TabulatedFunction composition(TabulatedFunction outer, TabulatedFunction inner) {
+        return TabulatedArithmetic.composition(outer, inner);
+    }
+
+    // Значения функции в узлах сетки другой табулированной функции (внутри области определения function)
+    public static TabulatedFunction resample(Function function, TabulatedFunction grid) {
+        return TabulatedArithmetic.resample(function, grid);
+    }
+
+    // Точный интеграл кусочно-линейной интерполяции по [left; right] за один проход по узлам
+    // (или через Integrable.integral, если реализация его поддерживает).
+    // Крайние сегменты учитываются частично; границы, выходящие за область определения
+    // не более чем на EPSILON, прижимаются к ней.
+    public static double integral(TabulatedFunction function, double left, double right) {
+        if (function == null)
+            throw new IllegalArgumentException("function is null");
+        if (!(left < right))
+            throw new IllegalArgumentException("left must be < right");
+        if (!ge(left, function.getLeftDomainBorder()) || !le(right, function.getRightDomainBorder()))
+            throw new IllegalArgumentException("Integration segment lies outside function domain");
+        if (function instanceof Integrable integrable) // есть индекс накопленных площадей
+            return integrable.integral(left, right);
+
+        double result = 0;
+        java.util.Iterator<FunctionPoint> it = function.iterator();
+        FunctionPoint p0 = it.next();
+        while (it.hasNext()) {
+            FunctionPoint p1 = it.next();
+            double x0 = p0.getX(), x1 = p1.getX();
+            if (x0 >= right) break;
+            if (x1 > left) {
+                double y0 = p0.getY(), y1 = p1.getY();
+                double lo = Math.max(x0, left), hi = Math.min(x1, right);
+                // значения интерполяции на концах пересечения сегмента с [left; right]
+                double yLo = (lo == x0) ? y0 : y0 + (y1 - y0) * (lo - x0) / (x1 - x0);
+                double yHi = (hi == x1) ? y1 : y0 + (y1 - y0) * (hi - x0) / (x1 - x0);
+                result += (yLo + yHi) * (hi - lo) / 2.0;
+            }
+            p0 = p1;
+        }
+        return result;
     }
 
     // Бинарный вывод пишет N, затем пары (x, y) для всех точек
     public static void outputTabulatedFunction(TabulatedFunction function, OutputStream out) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        int n;
         try {
             DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
-            int n = function.getPointsCount(); // Количество точек в функции
+            n = function.getPointsCount(); // Количество точек в функции
             dos.writeInt(n); // Сначала пишем это количество
             for (int i = 0; i < n; ++i) {
                 // Для каждой точки записываем x и y как double
@@ -159,119 +426,229 @@ public final class TabulatedFunctions {
         } catch (IOException e) { // Если произошла ошибка
             throw new UncheckedIOException(e);
         }
+        finishIo(event, "output", OUTPUT_TIMER, OUTPUT_BYTES, measured, started, n, binarySize(n));
     }
 
 
     // Бинарный ввод читает N, затем N пар (x, y), собирает TabulatedFunction
     public static TabulatedFunction inputTabulatedFunction(InputStream in) {
+        return readBinary(factory, in); // используем фабрику
+    }
+
+    // Бинарный ввод с указанием класса табулированной функции (фабрика класса из реестра)
+    public static TabulatedFunction inputTabulatedFunction(
+            Class<? extends TabulatedFunction> functionClass,
+            InputStream in) {
+        return readBinary(TabulatedFunctionRegistry.factoryFor(functionClass), in);
+    }
+
+    // Чтение бинарного формата, общее для обоих вариантов inputTabulatedFunction:
+    // x и y читаются в массивы, которые фабрика получает без копирования
+    private static TabulatedFunction readBinary(TabulatedFunctionFactory target, InputStream in) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        double[] xs;
+        double[] ys;
         try {
             // Оборачиваем поток для удобного чтения
             DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
             int n = dis.readInt();
-            FunctionPoint[] pts = new FunctionPoint[n];
+            if (n < 0) {
+                throw new IOException("Negative points count: " + n);
+            }
+            xs = new double[n];
+            ys = new double[n];
             for (int i = 0; i < n; ++i) {
-                double x = dis.readDouble();
-                double y = dis.readDouble();
-                pts[i] = new FunctionPoint(x, y);
+                xs[i] = dis.readDouble();
+                ys[i] = dis.readDouble();
             }
-            // Теперь используем фабрику
-            return createTabulatedFunction(pts);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        finishIo(event, "input", INPUT_TIMER, INPUT_BYTES, measured, started, xs.length, binarySize(xs.length));
+        return target.createTabulatedFunction(xs, ys, true);
     }
 
-    // Бинарный ввод с указанием класса табулированной функции Реализованный через рефлексию
-    public static TabulatedFunction inputTabulatedFunction(
-            Class<? extends TabulatedFunction> functionClass,
-            InputStream in) {
+    // Бинарный ввод без копирования: файл формата outputTabulatedFunction отображается в память,
+    // точки читаются прямо из отображения (функция только для чтения)
+    public static TabulatedFunction mapTabulatedFunction(Path file) {
+        return new MappedTabulatedFunction(file);
+    }
+
+    // Запись табулированной функции в символьный поток
+    public static void writeTabulatedFunction(TabulatedFunction function, Writer out) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        TabulatedTextCodec.Encoder encoder = new TabulatedTextCodec.Encoder(out);
+        int n = function.getPointsCount();
         try {
-            DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
-            int n = dis.readInt();
-            FunctionPoint[] pts = new FunctionPoint[n];
+            encoder.writeInt(n); // Сначала выводим количество точек
             for (int i = 0; i < n; ++i) {
-                double x = dis.readDouble();
-                double y = dis.readDouble();
-                pts[i] = new FunctionPoint(x, y);
+                // Затем для каждой точки: x и y через пробел
+                encoder.write(' ');
+                encoder.writeDouble(function.getPointX(i));
+                encoder.write(' ');
+                encoder.writeDouble(function.getPointY(i));
             }
-            // Здесь используем рефлексивный createTabulatedFunction
-            return createTabulatedFunction(functionClass, pts);
+            encoder.newLine(); // Завершаем строку
+            encoder.flush(); // Выгружаем данные в поток
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        finishIo(event, "write", WRITE_TIMER, WRITE_CHARS, measured, started, n, encoder.getCount());
     }
 
-    // Запись табулированной функции в символьный поток
-    public static void writeTabulatedFunction(TabulatedFunction function, Writer out) {
-        PrintWriter pw = new PrintWriter(new BufferedWriter(out));
-        int n = function.getPointsCount(); // Сначала выводим количество точек
-        pw.print(n);
-        for (int i = 0; i < n; ++i) {
-            // Затем для каждой точки: x и y через пробел
-            pw.print(' ');
-            pw.print(function.getPointX(i));
-            pw.print(' ');
-            pw.print(function.getPointY(i));
+    // Запись в CSV: заголовок "x,y", затем по строке "x,y" на точку
+    public static void writeTabulatedFunctionCsv(TabulatedFunction function, Writer out) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        TabulatedTextCodec.Encoder encoder = new TabulatedTextCodec.Encoder(out);
+        int n = function.getPointsCount();
+        try {
+            encoder.write("x,y");
+            encoder.newLine();
+            for (int i = 0; i < n; ++i) {
+                encoder.writeDouble(function.getPointX(i));
+                encoder.write(',');
+                encoder.writeDouble(function.getPointY(i));
+                encoder.newLine();
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        pw.println(); // Завершаем строку
-        pw.flush(); // Выгружаем данные в поток
+        finishIo(event, "writeCsv", WRITE_TIMER, WRITE_CHARS, measured, started, n, encoder.getCount());
     }
 
     // Ввод табулированной функции из символьного потока
     public static TabulatedFunction readTabulatedFunction(Reader in) {
+        return readText(factory, in); // используем фабрику
+    }
+
+    // Ввод табулированной функции из символьного потока с указанием класса (фабрика класса из реестра)
+    public static TabulatedFunction readTabulatedFunction(
+            Class<? extends TabulatedFunction> functionClass,
+            Reader in) {
+        return readText(TabulatedFunctionRegistry.factoryFor(functionClass), in); // Создаём объект нужного класса
+    }
+
+    // Чтение текстового формата, общее для обоих вариантов readTabulatedFunction
+    private static TabulatedFunction readText(TabulatedFunctionFactory target, Reader in) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        TabulatedTextCodec.Decoder decoder = new TabulatedTextCodec.Decoder(in);
         try {
-            StreamTokenizer st = new StreamTokenizer(in);
-            st.parseNumbers(); // включаем поддержку чисел
-            int t = st.nextToken();
-            if (t != StreamTokenizer.TT_NUMBER) {
-                throw new IOException("Expected points count");
+            int n = (int) decoder.readNumber("points count"); // Считываем количество точек
+            if (n < 0) {
+                throw new IOException("Negative points count: " + n);
             }
-            int n = (int) st.nval; // Считываем количество точек
-            List<FunctionPoint> list = new ArrayList<>(n);
+            double[] xs = new double[n];
+            double[] ys = new double[n];
             for (int i = 0; i < n; ++i) {
-                if (st.nextToken() != StreamTokenizer.TT_NUMBER) {
-                    throw new IOException("Expected x");
-                }
-                double x = st.nval;
-                if (st.nextToken() != StreamTokenizer.TT_NUMBER) {
-                    throw new IOException("Expected y");
-                }
-                double y = st.nval;
-                list.add(new FunctionPoint(x, y));
+                xs[i] = decoder.readNumber("x");
+                ys[i] = decoder.readNumber("y");
             }
-            // Собираем функцию из считанных точек
-            FunctionPoint[] pts = list.toArray(new FunctionPoint[0]);
-            return createTabulatedFunction(pts); // используем фабрику
+            finishIo(event, "read", READ_TIMER, READ_CHARS, measured, started, n, decoder.getCount());
+            // Собираем функцию из считанных массивов
+            return target.createTabulatedFunction(xs, ys, true);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    // Ввод табулированной функции из символьного потока с указанием класса Реализованный через рефлексию
-    public static TabulatedFunction readTabulatedFunction(
+    // Ввод из CSV формата writeTabulatedFunctionCsv: по точке "x,y" на строку, пустые строки пропускаются,
+    // первая строка может быть заголовком
+    public static TabulatedFunction readTabulatedFunctionCsv(Reader in) {
+        return readCsv(factory, in);
+    }
+
+    // Ввод из CSV с указанием класса (фабрика класса из реестра)
+    public static TabulatedFunction readTabulatedFunctionCsv(
             Class<? extends TabulatedFunction> functionClass,
             Reader in) {
+        return readCsv(TabulatedFunctionRegistry.factoryFor(functionClass), in);
+    }
+
+    private static TabulatedFunction readCsv(TabulatedFunctionFactory target, Reader in) {
+        TabulatedIoEvent event = new TabulatedIoEvent();
+        event.begin();
+        boolean measured = Metrics.isEnabled();
+        long started = measured ? System.nanoTime() : 0L;
+        TabulatedTextCodec.Decoder decoder = new TabulatedTextCodec.Decoder(in);
         try {
-            StreamTokenizer st = new StreamTokenizer(in);
-            st.parseNumbers();
-            int t = st.nextToken();
-            if (t != StreamTokenizer.TT_NUMBER)
-                throw new IOException("Expected points count");
-            int n = (int) st.nval; // Считываем количество точек
-            List<FunctionPoint> list = new ArrayList<>(n);
-            for (int i = 0; i < n; ++i) {
-                if (st.nextToken() != StreamTokenizer.TT_NUMBER)
-                    throw new IOException("Expected x");
-                double x = st.nval;
-                if (st.nextToken() != StreamTokenizer.TT_NUMBER)
-                    throw new IOException("Expected y");
-                double y = st.nval;
-                list.add(new FunctionPoint(x, y));}
-            FunctionPoint[] pts = list.toArray(new FunctionPoint[0]); // Собираем функцию из считанных точек
-            return createTabulatedFunction(functionClass, pts); // Создаём объект нужного класса через рефлексию
+            // Количество строк заранее неизвестно: массивы растут вдвое
+            double[] xs = new double[64];
+            double[] ys = new double[64];
+            int n = 0;
+            boolean header = true; // первая непустая строка может быть заголовком
+            while (decoder.nextLine()) {
+                if (!decoder.readField()) {
+                    if (header) {
+                        header = false;
+                        decoder.skipLine();
+                        continue;
+                    }
+                    throw new IOException("Expected x at line " + decoder.line());
+                }
+                header = false;
+                double x = decoder.value();
+                if (!decoder.readField()) {
+                    throw new IOException("Expected y at line " + decoder.line());
+                }
+                if (!decoder.atLineEnd()) {
+                    throw new IOException("Expected 2 fields at line " + decoder.line());
+                }
+                if (n == xs.length) {
+                    xs = Arrays.copyOf(xs, n * 2);
+                    ys = Arrays.copyOf(ys, n * 2);
+                }
+                xs[n] = x;
+                ys[n] = decoder.value();
+                n++;
+            }
+            finishIo(event, "readCsv", READ_TIMER, READ_CHARS, measured, started, n, decoder.getCount());
+            return target.createTabulatedFunction(Arrays.copyOf(xs, n), Arrays.copyOf(ys, n), true);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    // Размер бинарного представления: int N и N пар double
+    private static long binarySize(int points) {
+        return Integer.BYTES + 2L * Double.BYTES * points;
+    }
+
+    // Метрики ввода-вывода: таймер считает вызовы и точки, счётчик — байты или символы
+    private static final Timer OUTPUT_TIMER = Metrics.timer("functions.io.output");
+    private static final Timer INPUT_TIMER = Metrics.timer("functions.io.input");
+    private static final Timer WRITE_TIMER = Metrics.timer("functions.io.write");
+    private static final Timer READ_TIMER = Metrics.timer("functions.io.read");
+    private static final Counter OUTPUT_BYTES = Metrics.counter("functions.io.output.bytes");
+    private static final Counter INPUT_BYTES = Metrics.counter("functions.io.input.bytes");
+    private static final Counter WRITE_CHARS = Metrics.counter("functions.io.write.chars");
+    private static final Counter READ_CHARS = Metrics.counter("functions.io.read.chars");
+
+    // Завершает замер операции ввода-вывода: метрики (если включены) и событие JFR (если записывается)
+    private static void finishIo(TabulatedIoEvent event, String operation, Timer timer, Counter size,
+                                 boolean measured, long started, int points, long amount) {
+        if (measured) {
+            timer.record(points, System.nanoTime() - started);
+            size.add(amount);
+        }
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.points = points;
+            event.size = amount;
+            event.commit();
+        }
+    }
+
 }
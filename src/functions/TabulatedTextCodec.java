@@ -0,0 +1,440 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/*
+ * Потоковый текстовый кодек для writeTabulatedFunction/readTabulatedFunction и их CSV-вариантов.
+ * Чтение и запись идут через собственный буфер char[] без PrintWriter, BufferedReader и StreamTokenizer;
+ * кодек сам считает символы для метрик.
+ *
+ * Разбор числа не создаёт объектов, если запись десятичная и значащих цифр не больше 19. Мантисса < 2^53 с
+ * |порядком| <= 22 даёт значение одним точным умножением или делением на степень 10; иначе работает алгоритм
+ * Эйзеля–Лемира (произведение мантиссы на 128-битное приближение 5^q). Оба пути округляют так же, как
+ * Double.parseDouble; неоднозначные случаи, субнормальные числа, переполнение, длинные мантиссы, NaN и Infinity
+ * разбирает сам Double.parseDouble.
+ */
+final class TabulatedTextCodec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Точно представимые степени 10
+    private static final double[] POW10 = new double[23];
+
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; ++i) {
+            POW10[i] = POW10[i - 1] * 10.0;
+        }
+    }
+
+    // 5^k для k из [0; 22]
+    private static final long[] POW5_LONG = new long[23];
+
+    static {
+        POW5_LONG[0] = 1;
+        for (int i = 1; i < POW5_LONG.length; ++i) {
+            POW5_LONG[i] = POW5_LONG[i - 1] * 5;
+        }
+    }
+
+    private static final double MAX_EXACT = 0x1p53; // 2^53: целые до этой границы представимы точно
+
+    // Степени 5^q для q из [MIN_POW10; MAX_POW10], нормированные к 128 битам (старший бит установлен):
+    // POW5[2 * (q - MIN_POW10)] — старшие 64 бита, следующий элемент — младшие
+    private static final int MIN_POW10 = -342;
+    private static final int MAX_POW10 = 308;
+    private static final long[] POW5 = pow5Table();
+
+    // Таблица как в fast_float: положительные степени усечены, для отрицательных — 2^b / 5^-q + 1
+    private static long[] pow5Table() {
+        long[] table = new long[2 * (MAX_POW10 - MIN_POW10 + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_POW10; q <= MAX_POW10; ++q) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength(); // 2^z > 5^-q
+                int b = (q >= -27) ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+            } else {
+                c = five.pow(q);
+            }
+            int shift = c.bitLength() - 128;
+            c = (shift > 0) ? c.shiftRight(shift) : c.shiftLeft(-shift);
+            int index = 2 * (q - MIN_POW10);
+            table[index] = c.shiftRight(64).longValue();
+            table[index + 1] = c.longValue();
+        }
+        return table;
+    }
+
+    /*
+     * Алгоритм Эйзеля–Лемира: ближайший double к w * 10^q (w — беззнаковое, не 0). NaN — если результат
+     * нельзя гарантировать (субнормальные числа, переполнение, неоднозначное произведение): тогда нужен
+     * точный разбор
+     */
+    static double eiselLemire(long w, int q) {
+        if (q < MIN_POW10 || q > MAX_POW10) return Double.NaN;
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        int index = 2 * (q - MIN_POW10);
+        long hi = unsignedMultiplyHigh(w, POW5[index]);
+        long lo = w * POW5[index];
+        if ((hi & 0x1FF) == 0x1FF) {
+            // младших бит не хватило: уточняем второй половиной степени
+            long second = unsignedMultiplyHigh(w, POW5[index + 1]);
+            long sum = lo + second;
+            if (Long.compareUnsigned(sum, lo) < 0) hi++;
+            lo = sum;
+            if ((hi & 0x1FF) == 0x1FF && lo == -1L) return Double.NaN;
+        }
+        int upperBit = (int) (hi >>> 63);
+        long mantissa = hi >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz + 1023;
+        if (power2 <= 0) return Double.NaN;
+        // ровно посередине между двумя double — округление к чётному
+        if (Long.compareUnsigned(lo, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << (upperBit + 9)) == hi) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) return Double.NaN;
+        return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+    }
+
+    // Старшие 64 бита беззнакового произведения
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    private TabulatedTextCodec() {
+        throw new AssertionError("No instances");
+    }
+
+    // Запись чисел в буфер; в поток уходят только полные буферы и остаток при flush
+    static final class Encoder {
+        private final Writer out;
+        private final char[] buf = new char[BUFFER_SIZE];
+        private int pos;
+        private long count;
+
+        Encoder(Writer out) {
+            this.out = out;
+        }
+
+        long getCount() { return count; }
+
+        void write(char c) throws IOException {
+            if (pos == buf.length) flushBuffer();
+            buf[pos++] = c;
+        }
+
+        void write(String s) throws IOException {
+            for (int i = 0; i < s.length(); ++i) {
+                write(s.charAt(i));
+            }
+        }
+
+        void newLine() throws IOException {
+            write(System.lineSeparator());
+        }
+
+        void writeInt(int v) throws IOException {
+            reserve(11);
+            long a = v;
+            if (a < 0) {
+                buf[pos++] = '-';
+                a = -a;
+            }
+            writeDigits(a, 0);
+        }
+
+        /*
+         * Кратчайшая в фиксированной записи строка, которая читается обратно ровно в v. Для 1e-3 <= |v| < 1e7
+         * (где и Double.toString пишет без порядка) ищется наименьшее число знаков после точки k >= 1, при котором
+         * ближайшее к точному |v| * 10^k целое m разбирается обратно в |v|: при m < 2^53 проверка — одно корректно
+         * округлённое деление m / 10^k, дальше (17 значащих цифр) — eiselLemire. С ростом k ближайшее m / 10^k
+         * только приближается к |v|, поэтому k ищется двоичным поиском. Если |v| вне диапазона или 17 цифр
+         * не хватило — Double.toString.
+         */
+        void writeDouble(double v) throws IOException {
+            double a = Math.abs(v);
+            if (a >= 1e-3 && a < 1e7) {
+                int hi = 1; // наибольшее k, при котором m не длиннее 17 цифр
+                while (hi + 1 < POW10.length && a * POW10[hi + 1] < 1e17) hi++;
+                if (roundTrips(a, hi)) {
+                    int lo = 1;
+                    while (lo < hi) {
+                        int mid = (lo + hi) >>> 1;
+                        if (roundTrips(a, mid)) hi = mid;
+                        else lo = mid + 1;
+                    }
+                    reserve(24 + hi);
+                    if (v < 0) buf[pos++] = '-';
+                    writeDigits(scaledNearest(a, hi), hi);
+                    return;
+                }
+            }
+            write(Double.toString(v));
+        }
+
+        private static boolean roundTrips(double a, int k) {
+            long m = scaledNearest(a, k);
+            return (m < (1L << 53)) ? m / POW10[k] == a : eiselLemire(m, -k) == a;
+        }
+
+        // Ближайшее (к чётному при равенстве) целое к точному a * 10^k для 1e-3 <= a и a * 10^k < 1e17:
+        // a = M * 2^e, произведение M * 5^k помещается в 128 бит, остаётся сдвиг вправо не больше чем на 62 бита
+        private static long scaledNearest(double a, int k) {
+            long bits = Double.doubleToRawLongBits(a);
+            long mantissa = (bits & ((1L << 52) - 1)) | (1L << 52);
+            int shift = 1075 - (int) (bits >>> 52) - k;
+            long power = POW5_LONG[k];
+            long lo = mantissa * power;
+            if (shift <= 0) {
+                return lo << -shift; // произведение целое
+            }
+            long hi = Math.multiplyHigh(mantissa, power);
+            long q = (hi << (64 - shift)) | (lo >>> shift);
+            long rest = lo & ((1L << shift) - 1);
+            long half = 1L << (shift - 1);
+            if (rest > half || (rest == half && (q & 1) != 0)) q++;
+            return q;
+        }
+
+        // Цифры m с точкой перед последними scale цифрами (scale == 0 — целое); место уже зарезервировано
+        private void writeDigits(long m, int scale) {
+            int len = 1;
+            for (long t = m / 10; t != 0; t /= 10) len++;
+            if (scale > 0 && len <= scale) len = scale + 1; // ведущие нули: 0.00123
+            int end = pos + len + (scale > 0 ? 1 : 0);
+            int i = end;
+            for (int d = 0; d < len; ++d) {
+                if (scale > 0 && d == scale) buf[--i] = '.';
+                buf[--i] = (char) ('0' + (m % 10));
+                m /= 10;
+            }
+            pos = end;
+        }
+
+        private void reserve(int n) throws IOException {
+            if (pos + n > buf.length) flushBuffer();
+        }
+
+        private void flushBuffer() throws IOException {
+            out.write(buf, 0, pos);
+            count += pos;
+            pos = 0;
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    // Чтение токенов из буфера. Токен — buf[start, end); пока он читается, дочитывание потока сдвигает
+    // его в начало буфера (буфер растёт, только если токен длиннее буфера)
+    static final class Decoder {
+        private final Reader in;
+        private char[] buf = new char[BUFFER_SIZE];
+        private int pos, limit;
+        private int start = -1, end; // start == -1 — токен не читается
+        private long count;
+        private double value;
+        private int line = 1;      // CSV: номер физической строки текущей позиции
+        private boolean separated; // CSV: последнее поле завершилось запятой
+
+        Decoder(Reader in) {
+            this.in = in;
+        }
+
+        long getCount() { return count; }
+
+        // Число, отделённое пробельными символами; иначе IOException("Expected " + what)
+        double readNumber(String what) throws IOException {
+            skipWhitespace();
+            start = pos;
+            int c;
+            while ((c = peek()) >= 0 && !isWhitespace(c)) pos++;
+            end = pos;
+            boolean parsed = parseToken();
+            start = -1;
+            if (!parsed) throw new IOException("Expected " + what);
+            return value;
+        }
+
+        // CSV: переход к следующей непустой строке с учётом пропущенных переводов строки
+        // (\n, \r\n или одиночный \r); false — поток кончился
+        boolean nextLine() throws IOException {
+            int c;
+            while ((c = peek()) >= 0 && isWhitespace(c)) {
+                pos++;
+                if (c == '\n') {
+                    line++;
+                } else if (c == '\r') {
+                    if (peek() == '\n') pos++;
+                    line++;
+                }
+            }
+            return c >= 0;
+        }
+
+        int line() { return line; }
+
+        // CSV: поле до ',' или конца строки (пробелы по краям отбрасываются), запятая после поля пропускается.
+        // false — поле не является числом
+        boolean readField() throws IOException {
+            skipBlanks();
+            start = pos;
+            int c;
+            while ((c = peek()) >= 0 && c != ',' && c != '\n' && c != '\r') pos++;
+            end = pos;
+            while (end > start && (buf[end - 1] == ' ' || buf[end - 1] == '\t')) end--;
+            separated = (c == ',');
+            if (separated) pos++;
+            boolean parsed = parseToken();
+            start = -1;
+            return parsed;
+        }
+
+        double value() { return value; }
+
+        // CSV: после полей строки остался только её конец; запятая после последнего поля
+        // означает ещё одно (пустое) поле
+        boolean atLineEnd() throws IOException {
+            if (separated) return false;
+            skipBlanks();
+            int c = peek();
+            return c < 0 || c == '\n' || c == '\r';
+        }
+
+        // CSV: пропуск остатка строки (заголовка)
+        void skipLine() throws IOException {
+            int c;
+            while ((c = peek()) >= 0 && c != '\n' && c != '\r') pos++;
+        }
+
+        private void skipWhitespace() throws IOException {
+            int c;
+            while ((c = peek()) >= 0 && isWhitespace(c)) pos++;
+        }
+
+        private void skipBlanks() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t') pos++;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+        }
+
+        // Текущий символ без продвижения; -1 — конец потока
+        private int peek() throws IOException {
+            if (pos == limit && !refill()) return -1;
+            return buf[pos];
+        }
+
+        private boolean refill() throws IOException {
+            // вне токена сохранять нечего
+            int keepFrom = (start >= 0) ? start : pos;
+            if (keepFrom > 0) {
+                System.arraycopy(buf, keepFrom, buf, 0, limit - keepFrom);
+                limit -= keepFrom;
+                pos -= keepFrom;
+                if (start >= 0) start -= keepFrom;
+            }
+            if (limit == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            int n = in.read(buf, limit, buf.length - limit);
+            if (n <= 0) return false;
+            limit += n;
+            count += n;
+            return true;
+        }
+
+        private boolean parseToken() {
+            int i = start;
+            int e = end;
+            if (i == e) return false;
+            boolean negative = false;
+            char c = buf[i];
+            if (c == '-' || c == '+') {
+                negative = (c == '-');
+                i++;
+            }
+            long mantissa = 0;
+            int significant = 0;
+            int exponent = 0;
+            boolean seen = false;
+            for (; i < e && (c = buf[i]) >= '0' && c <= '9'; i++) {
+                seen = true;
+                if (mantissa != 0 || c != '0') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    significant++;
+                }
+            }
+            if (i < e && buf[i] == '.') {
+                for (i++; i < e && (c = buf[i]) >= '0' && c <= '9'; i++) {
+                    seen = true;
+                    if (mantissa != 0 || c != '0') {
+                        mantissa = mantissa * 10 + (c - '0');
+                        significant++;
+                    }
+                    exponent--;
+                }
+            }
+            if (!seen) return parseSlow(); // NaN, Infinity или не число
+            if (i < e && (buf[i] == 'e' || buf[i] == 'E')) {
+                i++;
+                boolean negativeExp = false;
+                if (i < e && (buf[i] == '-' || buf[i] == '+')) {
+                    negativeExp = (buf[i] == '-');
+                    i++;
+                }
+                int exp = 0;
+                boolean expSeen = false;
+                for (; i < e && (c = buf[i]) >= '0' && c <= '9'; i++) {
+                    expSeen = true;
+                    if (exp < 100_000) exp = exp * 10 + (c - '0');
+                }
+                if (!expSeen) return false;
+                exponent += negativeExp ? -exp : exp;
+            }
+            // 19 цифр помещаются в 64 бита без знака
+            if (i != e || significant > 19) return parseSlow();
+            if (mantissa == 0) {
+                value = negative ? -0.0 : 0.0;
+                return true;
+            }
+            double a;
+            if ((mantissa >>> 53) == 0 && exponent >= -22 && exponent <= 22) {
+                double m = mantissa;
+                a = (exponent >= 0) ? m * POW10[exponent] : m / POW10[-exponent];
+            } else {
+                a = eiselLemire(mantissa, exponent);
+                if (Double.isNaN(a)) return parseSlow();
+            }
+            value = negative ? -a : a;
+            return true;
+        }
+
+        private boolean parseSlow() {
+            try {
+                value = Double.parseDouble(new String(buf, start, end - start));
+                return true;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package functions.basic;
 
-public class Cos extends TrigonometricFunction {
+import functions.Integrable;
+
+public class Cos extends TrigonometricFunction implements Integrable {
     @Override
     public double getFunctionValue(double x) {
         return Math.cos(x);
     }
+
+    // ∫ cos x dx = sin x
+    @Override
+    public double integral(double left, double right) {
+        return Math.sin(right) - Math.sin(left);
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package functions.basic;
-import functions.Function;
+import functions.Integrable;
 
-public class Exp implements Function {
+public class Exp implements Integrable {
     @Override
     public double getLeftDomainBorder() {
         return Double.NEGATIVE_INFINITY;
@@ -16,4 +16,10 @@ public class Exp implements Function {
     public double getFunctionValue(double x) {
         return Math.exp(x);
     }
+
+    // ∫ e^x dx = e^x
+    @Override
+    public double integral(double left, double right) {
+        return Math.exp(right) - Math.exp(left);
+    }
 }
\ No newline at end of file
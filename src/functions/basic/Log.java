@@ -1,6 +1,6 @@
 package functions.basic;
-import functions.Function;
-public class Log implements Function {
+import functions.Integrable;
+public class Log implements Integrable {
     private static final double EPSILON = 1e-12;
     private final double base;
     public Log(double base) {
@@ -9,6 +9,7 @@ public class Log implements Function {
         }
         this.base = base;
     }
+    public double getBase() {return base;}
     @Override
     public double getLeftDomainBorder() {return Double.MIN_VALUE;}
     @Override
@@ -18,4 +19,13 @@ public class Log implements Function {
         if (x <= 0.0) return Double.NaN;    // вне области определения
         return Math.log(x) / Math.log(base);
     }
+
+    // ∫ log_b x dx = (x ln x - x) / ln b; отрезок должен лежать в x > 0
+    @Override
+    public double integral(double left, double right) {
+        if (left <= 0.0) return Double.NaN;
+        double primitiveRight = right * Math.log(right) - right;
+        double primitiveLeft = left * Math.log(left) - left;
+        return (primitiveRight - primitiveLeft) / Math.log(base);
+    }
 }
\ No newline at end of file
@@ -1,8 +1,16 @@
 package functions.basic;
 
-public class Sin extends TrigonometricFunction {
+import functions.Integrable;
+
+public class Sin extends TrigonometricFunction implements Integrable {
     @Override
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
+
+    // ∫ sin x dx = -cos x
+    @Override
+    public double integral(double left, double right) {
+        return Math.cos(left) - Math.cos(right);
+    }
 }
\ No newline at end of file
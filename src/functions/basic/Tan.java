@@ -1,8 +1,19 @@
 package functions.basic;
 
-public class Tan extends TrigonometricFunction {
+import functions.Integrable;
+
+public class Tan extends TrigonometricFunction implements Integrable {
     @Override
     public double getFunctionValue(double x) {
         return Math.tan(x);
     }
+
+    // ∫ tan x dx = -ln|cos x|; если внутри отрезка есть полюс π/2 + kπ, первообразная не применима — NaN
+    @Override
+    public double integral(double left, double right) {
+        double first = Math.floor((left - Math.PI / 2) / Math.PI);
+        double last = Math.floor((right - Math.PI / 2) / Math.PI);
+        if (first != last) return Double.NaN;
+        return Math.log(Math.abs(Math.cos(left))) - Math.log(Math.abs(Math.cos(right)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package functions.meta;
+
+import functions.Function;
+
+// Аффинное преобразование функции: mulY * f(mulX * x + addX) + addY.
+// Получается при свёртке цепочек Shift/Scale (Functions.optimize): один узел вместо нескольких,
+// деление на scaleX заменено умножением на заранее вычисленную обратную величину.
+public class Affine implements Function {
+    private final Function f;
+    private final double mulX, addX, mulY, addY;
+
+    public Affine(Function f, double mulX, double addX, double mulY, double addY) {
+        if (f == null) throw new IllegalArgumentException("Function must not be null");
+        if (mulX == 0.0 || Double.isNaN(mulX)) throw new IllegalArgumentException("mulX must not be 0");
+        this.f = f;
+        this.mulX = mulX;
+        this.addX = addX;
+        this.mulY = mulY;
+        this.addY = addY;
+    }
+
+    public Function getFunction() { return f; }
+    public double getMulX() { return mulX; }
+    public double getAddX() { return addX; }
+    public double getMulY() { return mulY; }
+    public double getAddY() { return addY; }
+
+    // Область определения — прообраз области f при x -> mulX * x + addX
+    @Override
+    public double getLeftDomainBorder() {
+        double a = (f.getLeftDomainBorder() - addX) / mulX;
+        double b = (f.getRightDomainBorder() - addX) / mulX;
+        return Math.min(a, b); // учитываем возможный отрицательный mulX
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        double a = (f.getLeftDomainBorder() - addX) / mulX;
+        double b = (f.getRightDomainBorder() - addX) / mulX;
+        return Math.max(a, b);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return mulY * f.getFunctionValue(mulX * x + addX) + addY;
+    }
+
+    // Преобразованные аргументы пишутся прямо в out, затем f вычисляется на месте
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) out[i] = mulX * xs[i] + addX;
+        f.getFunctionValues(out, out);
+        for (int i = 0; i < xs.length; ++i) out[i] = mulY * out[i] + addY;
+    }
+}
@@ -10,7 +10,17 @@ public class Composition implements Function {
         this.outer = outer; this.inner = inner;
     }
 
+    public Function getOuter() { return outer; }
+    public Function getInner() { return inner; }
+
     @Override public double getLeftDomainBorder()  { return inner.getLeftDomainBorder(); }
     @Override public double getRightDomainBorder() { return inner.getRightDomainBorder(); }
     @Override public double getFunctionValue(double x) { return outer.getFunctionValue(inner.getFunctionValue(x)); }
+
+    // Сначала весь массив через inner, затем результат на месте через outer
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        inner.getFunctionValues(xs, out);
+        outer.getFunctionValues(out, out);
+    }
 }
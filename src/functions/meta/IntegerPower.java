@@ -0,0 +1,40 @@
+package functions.meta;
+
+import functions.Function;
+
+// Целая степень функции умножениями (возведение в квадрат и умножение) вместо Math.pow.
+// Отрицательная степень — обратная величина положительной; f^0 == 1 при любом значении f, как у Math.pow.
+public class IntegerPower implements Function {
+    private final Function f;
+    private final int n;
+
+    public IntegerPower(Function f, int n) {
+        if (f == null) throw new IllegalArgumentException("Function must not be null");
+        this.f = f; this.n = n;
+    }
+
+    public Function getFunction() { return f; }
+    public int getPower() { return n; }
+
+    @Override public double getLeftDomainBorder()  { return f.getLeftDomainBorder(); }
+    @Override public double getRightDomainBorder() { return f.getRightDomainBorder(); }
+    @Override public double getFunctionValue(double x) { return pow(f.getFunctionValue(x), n); }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        f.getFunctionValues(xs, out);
+        for (int i = 0; i < xs.length; ++i) out[i] = pow(out[i], n);
+    }
+
+    // v^n умножениями; используется и скомпилированными функциями (Functions.compile)
+    public static double pow(double v, int n) {
+        long e = Math.abs((long) n);
+        double result = 1.0, base = v;
+        while (e != 0) {
+            if ((e & 1) != 0) result *= base;
+            e >>>= 1;
+            if (e != 0) base *= base;
+        }
+        return (n < 0) ? 1.0 / result : result;
+    }
+}
@@ -11,7 +11,16 @@ public class Power implements Function {
         this.f = f; this.p = p;
     }
 
+    public Function getFunction() { return f; }
+    public double getPower() { return p; }
+
     @Override public double getLeftDomainBorder()  { return f.getLeftDomainBorder(); }
     @Override public double getRightDomainBorder() { return f.getRightDomainBorder(); }
     @Override public double getFunctionValue(double x) { return Math.pow(f.getFunctionValue(x), p); }
+
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        f.getFunctionValues(xs, out);
+        for (int i = 0; i < xs.length; ++i) out[i] = Math.pow(out[i], p);
+    }
 }
@@ -14,6 +14,10 @@ public class Scale implements Function {
         this.scaleX = scaleX;
         this.scaleY = scaleY;
     }
+    public Function getFunction() { return f; }
+    public double getScaleX() { return scaleX; }
+    public double getScaleY() { return scaleY; }
+
     @Override
     public double getLeftDomainBorder() {
         double L = f.getLeftDomainBorder();
@@ -34,4 +38,12 @@ public class Scale implements Function {
     @Override // Масштабирование графика
     public double getFunctionValue(double x) {
         return scaleY * f.getFunctionValue(x / scaleX);}
+
+    // Масштабированные аргументы пишутся прямо в out, затем f вычисляется на месте
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) out[i] = xs[i] / scaleX;
+        f.getFunctionValues(out, out);
+        for (int i = 0; i < xs.length; ++i) out[i] = scaleY * out[i];
+    }
 }
@@ -0,0 +1,39 @@
+package functions.meta;
+
+import java.util.Arrays;
+
+// Рабочие массивы для пакетного вычисления Sum и Mult, по стеку на поток: вложенные Sum/Mult
+// берут буферы следующего уровня, поэтому не портят значения внешнего вызова.
+// Буфер всегда ровно нужной длины: обёртки вроде Composition и Shift вычисляют f на месте по всему
+// массиву, и лишний хвост со старыми значениями дал бы лишние (и, возможно, недопустимые) вычисления.
+// Кешируются только массивы не длиннее порции Functions.integral; более длинные выделяются заново,
+// чтобы поток не держал самый большой из когда-либо виденных массивов.
+final class ScratchBuffers {
+    static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final ThreadLocal<ScratchBuffers> LOCAL = ThreadLocal.withInitial(ScratchBuffers::new);
+
+    private double[][] buffers = new double[4][];
+    private int depth;
+
+    private ScratchBuffers() {
+    }
+
+    // Буфер длиной ровно length; после использования обязательно release()
+    static double[] acquire(int length) {
+        ScratchBuffers local = LOCAL.get();
+        if (local.depth == local.buffers.length)
+            local.buffers = Arrays.copyOf(local.buffers, local.depth * 2);
+        double[] buffer = local.buffers[local.depth];
+        if (buffer == null || buffer.length != length) {
+            buffer = new double[length];
+            if (length <= MAX_CACHED_LENGTH) local.buffers[local.depth] = buffer;
+        }
+        local.depth++;
+        return buffer;
+    }
+
+    static void release() {
+        LOCAL.get().depth--;
+    }
+}
@@ -11,7 +11,19 @@ public class Shift implements Function {
         this.f = f; this.shiftX = shiftX; this.shiftY = shiftY;
     }
 
+    public Function getFunction() { return f; }
+    public double getShiftX() { return shiftX; }
+    public double getShiftY() { return shiftY; }
+
     @Override public double getLeftDomainBorder()  { return f.getLeftDomainBorder()  + shiftX; }
     @Override public double getRightDomainBorder() { return f.getRightDomainBorder() + shiftX; }
     @Override public double getFunctionValue(double x) { return f.getFunctionValue(x - shiftX) + shiftY; }
+
+    // Сдвинутые аргументы пишутся прямо в out, затем f вычисляется на месте
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        for (int i = 0; i < xs.length; ++i) out[i] = xs[i] - shiftX;
+        f.getFunctionValues(out, out);
+        for (int i = 0; i < xs.length; ++i) out[i] += shiftY;
+    }
 }
@@ -8,6 +8,9 @@ public class Sum implements Function {
         this.f1 = f1;
         this.f2 = f2;
     }
+
+    public Function getFirst() { return f1; }
+    public Function getSecond() { return f2; }
     @Override
     public double getLeftDomainBorder() {
         return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
@@ -16,4 +19,15 @@ public class Sum implements Function {
     public double getRightDomainBorder() { return Math.min(f1.getRightDomainBorder(), f2.getRightDomainBorder());}
     @Override
     public double getFunctionValue(double x) { return f1.getFunctionValue(x) + f2.getFunctionValue(x);}
+    @Override
+    public void getFunctionValues(double[] xs, double[] out) {
+        double[] second = ScratchBuffers.acquire(xs.length);
+        try {
+            f2.getFunctionValues(xs, second); // до f1: out может совпадать с xs
+            f1.getFunctionValues(xs, out);
+            for (int i = 0; i < xs.length; ++i) out[i] += second[i];
+        } finally {
+            ScratchBuffers.release();
+        }
+    }
 }
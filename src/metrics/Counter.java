@@ -0,0 +1,30 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Простой счётчик (например, байт ввода-вывода). Запись без блокировок
+public final class Counter {
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() { return value.sum(); }
+
+    void reset() {
+        value.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + get();
+    }
+}
@@ -0,0 +1,52 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Гистограмма задержек с логарифмическими корзинами: корзина k содержит значения из [2^(k-1); 2^k) нс,
+// корзина 0 — нулевые задержки. Запись без блокировок
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKETS; ++i) buckets[i] = new LongAdder();
+    }
+
+    public String getName() { return name; }
+
+    public void record(long nanos) {
+        int bucket = (nanos <= 0) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        buckets[bucket].increment();
+        total.increment();
+    }
+
+    public long getCount() { return total.sum(); }
+
+    // Верхняя граница корзины, в которую попадает заданный перцентиль (0..100), в наносекундах
+    public long percentile(double p) {
+        long count = getCount();
+        if (count == 0) return 0L;
+        long rank = (long) Math.ceil(count * p / 100.0);
+        long seen = 0;
+        for (int k = 0; k < BUCKETS; ++k) {
+            seen += buckets[k].sum();
+            if (seen >= rank && seen > 0) return (k == 0) ? 0L : (k >= 63 ? Long.MAX_VALUE : 1L << k);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    void reset() {
+        for (LongAdder b : buckets) b.reset();
+        total.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d p50<=%d ns p90<=%d ns p99<=%d ns",
+                name, getCount(), percentile(50), percentile(90), percentile(99));
+    }
+}
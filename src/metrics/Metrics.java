@@ -0,0 +1,63 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/*
+ * Реестр лёгких метрик горячих путей: таймеры (количество вызовов, суммарное время, обработанные
+ * элементы), счётчики и гистограммы задержек. По умолчанию сбор выключен: на месте вызова проверяется одно
+ * volatile-поле, время не замеряется и ничего не записывается.
+ * Включение: Metrics.setEnabled(true) или системное свойство -Dlab.metrics=true.
+ * Подробные события для Java Flight Recorder пишутся независимо от этого флага (см. пакет metrics.jfr).
+ */
+public final class Metrics {
+    private Metrics() {
+        throw new AssertionError("No instances");
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean("lab.metrics");
+
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Таймер с заданным именем (создаётся при первом обращении)
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    // Счётчик с заданным именем (создаётся при первом обращении)
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    // Гистограмма задержек с заданным именем (создаётся при первом обращении)
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    // Обнуляет все метрики, не удаляя их из реестра
+    public static void reset() {
+        timers.values().forEach(Timer::reset);
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    // Текстовый отчёт по всем метрикам, отсортированный по имени
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        new ConcurrentSkipListMap<>(timers).values().forEach(t -> sb.append(t).append(System.lineSeparator()));
+        new ConcurrentSkipListMap<>(counters).values().forEach(c -> sb.append(c).append(System.lineSeparator()));
+        new ConcurrentSkipListMap<>(histograms).values().forEach(h -> sb.append(h).append(System.lineSeparator()));
+        return sb.toString();
+    }
+}
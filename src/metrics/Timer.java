@@ -0,0 +1,56 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Количество вызовов, суммарное время в наносекундах и число обработанных элементов
+// (вычислений функции, точек, байт). Запись без блокировок, через LongAdder
+public final class Timer {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final AtomicLong firstRecord = new AtomicLong(); // время первой записи, для скорости в секунду
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public void record(long itemsCount, long elapsedNanos) {
+        if (firstRecord.get() == 0L) firstRecord.compareAndSet(0L, System.nanoTime());
+        calls.increment();
+        nanos.add(elapsedNanos);
+        items.add(itemsCount);
+    }
+
+    public long getCalls() { return calls.sum(); }
+
+    public long getTotalNanos() { return nanos.sum(); }
+
+    public long getItems() { return items.sum(); }
+
+    // Вызовов в секунду с момента первой записи
+    public double getCallsPerSecond() {
+        long first = firstRecord.get();
+        if (first == 0L) return 0.0;
+        long elapsed = System.nanoTime() - first;
+        return elapsed <= 0 ? 0.0 : getCalls() * 1e9 / elapsed;
+    }
+
+    void reset() {
+        calls.reset();
+        nanos.reset();
+        items.reset();
+        firstRecord.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        long c = getCalls();
+        return String.format("%s: calls=%d items=%d total=%.3f ms avg=%.1f ns rate=%.1f/s",
+                name, c, getItems(), getTotalNanos() / 1e6, c == 0 ? 0.0 : (double) getTotalNanos() / c,
+                getCallsPerSecond());
+    }
+}
@@ -0,0 +1,26 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("lab.functions.Integral")
+@Label("Integral")
+@Category({"Lab", "Functions"})
+@Description("Один вызов Functions.integral")
+@StackTrace(false)
+public class IntegralEvent extends jdk.jfr.Event {
+    @Label("Left")
+    public double left;
+    @Label("Right")
+    public double right;
+    @Label("Step")
+    public double step;
+    @Label("Evaluations")
+    @Description("Сколько раз вычислялась функция (0 для точного интеграла)")
+    public long evaluations;
+    @Label("Exact")
+    public boolean exact;
+}
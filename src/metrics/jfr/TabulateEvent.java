@@ -0,0 +1,21 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("lab.functions.Tabulate")
+@Label("Tabulate")
+@Category({"Lab", "Functions"})
+@Description("Один вызов TabulatedFunctions.tabulate")
+@StackTrace(false)
+public class TabulateEvent extends jdk.jfr.Event {
+    @Label("Left X")
+    public double leftX;
+    @Label("Right X")
+    public double rightX;
+    @Label("Points")
+    public int points;
+}
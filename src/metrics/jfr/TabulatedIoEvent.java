@@ -0,0 +1,25 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("lab.functions.TabulatedIo")
+@Label("Tabulated Function I/O")
+@Category({"Lab", "I/O"})
+@Description("Чтение или запись табулированной функции в TabulatedFunctions")
+@StackTrace(false)
+public class TabulatedIoEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    @Description("output, input, write или read")
+    public String operation;
+    @Label("Points")
+    public int points;
+    @Label("Size")
+    @Description("Байты для бинарного формата, символы для текстового")
+    @DataAmount
+    public long size;
+}
@@ -0,0 +1,20 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("lab.threads.TaskHandoff")
+@Label("Task Handoff Wait")
+@Category({"Lab", "Threads"})
+@Description("Ожидание семафора при передаче задачи между Generator и Integrator")
+@StackTrace(false)
+public class TaskHandoffEvent extends jdk.jfr.Event {
+    @Label("Role")
+    @Description("generator или integrator")
+    public String role;
+    @Label("Task Number")
+    public int taskNumber;
+}
@@ -3,6 +3,10 @@ package threads;
 import functions.Function;
 import functions.basic.Log;
 
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import metrics.jfr.TaskHandoffEvent;
+
 import java.util.Random;
 import java.util.concurrent.Semaphore;
 
@@ -13,6 +17,9 @@ public class Generator extends Thread {
     private final Semaphore dataProcessed; // Семафор "данные обработаны" (отпускается интегратором)
     private final Random random = new Random();
 
+    // Метрика: время ожидания семафора dataProcessed
+    private static final LatencyHistogram ACQUIRE_WAIT = Metrics.histogram("threads.generator.acquireWait");
+
     public Generator(Task task, Semaphore dataReady, Semaphore dataProcessed) {
         super("Generator");
         if (task == null)
@@ -52,7 +59,18 @@ public class Generator extends Thread {
                 double step = random.nextDouble();
                 if (step <= 0.0)
                     step = 1.0;
+                TaskHandoffEvent event = new TaskHandoffEvent();
+                event.begin();
+                boolean measured = Metrics.isEnabled();
+                long waitStarted = measured ? System.nanoTime() : 0L;
                 dataProcessed.acquire();  // Ожидание разрешения от интегратора
+                if (measured)
+                    ACQUIRE_WAIT.record(System.nanoTime() - waitStarted);
+                if (event.shouldCommit()) {
+                    event.role = "generator";
+                    event.taskNumber = taskNumber;
+                    event.commit();
+                }
                 try { // Запись сгенерированных параметров в общую задачу
                     task.setFunction(logFunction);
                     task.setLeft(left);
@@ -3,6 +3,11 @@ package threads;
 import functions.Function;
 import functions.Functions;
 
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import metrics.Timer;
+import metrics.jfr.TaskHandoffEvent;
+
 import java.util.concurrent.Semaphore;
 
 // Вычислитель интеграла с синхронизацией через семафоры
@@ -11,6 +16,11 @@ public class Integrator extends Thread {
     private final Semaphore dataReady;    // Семафор "данные готовы" (отпускается генератором)
     private final Semaphore dataProcessed; // Семафор "данные обработаны" (отпускается интегратором)
 
+    // Метрики: время ожидания семафора dataReady и обработанные задачи (скорость в секунду)
+    private static final LatencyHistogram ACQUIRE_WAIT = Metrics.histogram("threads.integrator.acquireWait");
+    private static final Timer TASKS = Metrics.timer("threads.integrator.tasks");
+    private static final Timer PRINT = Metrics.timer("threads.integrator.print"); // время System.out.printf
+
     public Integrator(Task task, Semaphore dataReady, Semaphore dataProcessed) {
         super("Integrator");
         if (task == null)
@@ -35,7 +45,18 @@ public class Integrator extends Thread {
                 }
                 int taskNumber = i + 1;
                 // Ожидаем пока генератор подготовит данные
+                TaskHandoffEvent event = new TaskHandoffEvent();
+                event.begin();
+                boolean measured = Metrics.isEnabled();
+                long waitStarted = measured ? System.nanoTime() : 0L;
                 dataReady.acquire();
+                if (measured)
+                    ACQUIRE_WAIT.record(System.nanoTime() - waitStarted);
+                if (event.shouldCommit()) {
+                    event.role = "integrator";
+                    event.taskNumber = taskNumber;
+                    event.commit();
+                }
                 double left;
                 double right;
                 double step;
@@ -50,10 +71,16 @@ public class Integrator extends Thread {
                     dataProcessed.release();
                 }
                 // Вычисляем интеграл
+                long integrationStarted = measured ? System.nanoTime() : 0L;
                 double result = Functions.integral(function, left, right, step);
+                if (measured)
+                    TASKS.record(1, System.nanoTime() - integrationStarted);
                 // Выводим результат вычислений
+                long printStarted = measured ? System.nanoTime() : 0L;
                 System.out.printf("[INT] task=%3d left=%.6f right=%.6f step=%.6f value=%.10f%n",
                         taskNumber, left, right, step, result);
+                if (measured)
+                    PRINT.record(1, System.nanoTime() - printStarted);
             }
         } catch (InterruptedException e) {
             System.out.println("Integrator: прерван при ожидании семафора");
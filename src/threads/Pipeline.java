@@ -0,0 +1,73 @@
+package threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Конвейер «генераторы -> ограниченная очередь -> пул интеграторов».
+ * В отличие от пары Generator/Integrator с одной общей Task, в очереди помещается до capacity
+ * неизменяемых задач, а интегрировать их могут сразу несколько потоков.
+ * Завершение: после окончания всех генераторов в очередь кладётся по одному TaskRecord.POISON
+ * на каждый интегратор; shutdownNow() прерывает все потоки. Маркеры кладутся с таймаутом и не кладутся
+ * вовсе после shutdownNow() или если живых интеграторов не осталось — иначе run() ждал бы места
+ * в полной очереди, которую никто не разбирает.
+ */
+public class Pipeline {
+    private final BlockingQueue<TaskRecord> queue;
+    private final List<Thread> generators = new ArrayList<>();
+    private final List<Thread> integrators = new ArrayList<>();
+    private volatile boolean shutdown;
+
+    public Pipeline(int tasksCount, int generatorsCount, int integratorsCount, int capacity, int batchSize) {
+        if (tasksCount <= 0)
+            throw new IllegalArgumentException("Количество заданий должно быть > 0: " + tasksCount);
+        if (generatorsCount < 1 || integratorsCount < 1)
+            throw new IllegalArgumentException("Нужен хотя бы один генератор и один интегратор");
+        if (capacity < 1)
+            throw new IllegalArgumentException("Ёмкость очереди должна быть >= 1: " + capacity);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        // Задачи делятся между генераторами поровну, номера идут подряд
+        int first = 1;
+        for (int g = 0; g < generatorsCount; ++g) {
+            int count = tasksCount / generatorsCount + (g < tasksCount % generatorsCount ? 1 : 0);
+            generators.add(new Thread(new PipelineGenerator(queue, first, count), "Generator-" + (g + 1)));
+            first += count;
+        }
+        for (int w = 0; w < integratorsCount; ++w) {
+            integrators.add(new Thread(new PipelineIntegrator(queue, batchSize), "Integrator-" + (w + 1)));
+        }
+    }
+
+    // Запускает конвейер и ждёт обработки всех задач
+    public void run() throws InterruptedException {
+        for (Thread t : integrators) t.start();
+        for (Thread t : generators) t.start();
+        for (Thread t : generators) t.join();
+        for (int i = 0; i < integrators.size(); ++i) {
+            if (!offerPoison()) break;
+        }
+        for (Thread t : integrators) t.join();
+    }
+
+    // Кладёт маркер завершения; false — класть некому (конвейер остановлен или интеграторы завершились)
+    private boolean offerPoison() throws InterruptedException {
+        while (!shutdown) {
+            if (queue.offer(TaskRecord.POISON, 100, TimeUnit.MILLISECONDS)) return true;
+            boolean alive = false;
+            for (Thread t : integrators) alive |= t.isAlive();
+            if (!alive) return false;
+        }
+        return false;
+    }
+
+    // Прерывает все потоки конвейера без ожидания оставшихся задач
+    public void shutdownNow() {
+        shutdown = true;
+        for (Thread t : generators) t.interrupt();
+        for (Thread t : integrators) t.interrupt();
+    }
+}
@@ -0,0 +1,64 @@
+package threads;
+
+import functions.Function;
+import functions.basic.Log;
+
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+
+// Генератор задач для конвейера: кладёт неизменяемые TaskRecord в ограниченную очередь.
+// Номера задач — полуинтервал [firstNumber; firstNumber + count)
+public class PipelineGenerator implements Runnable {
+    private final BlockingQueue<TaskRecord> queue;
+    private final int firstNumber;
+    private final int count;
+    private final Random random = new Random();
+
+    public PipelineGenerator(BlockingQueue<TaskRecord> queue, int firstNumber, int count) {
+        if (queue == null)
+            throw new IllegalArgumentException("Очередь не должна быть null");
+        if (count < 0)
+            throw new IllegalArgumentException("Количество задач должно быть >= 0: " + count);
+        this.queue = queue;
+        this.firstNumber = firstNumber;
+        this.count = count;
+    }
+
+    // Генерирует задачу с теми же параметрами, что и Generator, и печатает строку [GEN]
+    static TaskRecord nextTask(int taskNumber, Random random) {
+        double base = 1.0 + 9.0 * random.nextDouble();
+        if (Math.abs(base - 1.0) < 1e-6)
+            base += 1e-3; // Избегаем основания 1
+        Function logFunction = new Log(base);
+        double left = 100.0 * random.nextDouble();
+        if (left <= 0.0)
+            left = Double.MIN_VALUE;
+        double right = 100.0 + 100.0 * random.nextDouble();
+        if (right <= left)
+            right = left + 1.0;
+        double step = random.nextDouble();
+        if (step <= 0.0)
+            step = 1.0;
+        System.out.printf("[GEN] task=%3d base=%.6f left=%.6f right=%.6f step=%.6f%n",
+                taskNumber, base, left, right, step);
+        return new TaskRecord(taskNumber, logFunction, left, right, step);
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < count; ++i) {
+                if (Thread.currentThread().isInterrupted()) {
+                    System.out.println(Thread.currentThread().getName() + ": обнаружен флаг прерывания, выходим из цикла");
+                    break;
+                }
+                int taskNumber = firstNumber + i;
+                TaskRecord task = nextTask(taskNumber, random);
+                queue.put(task); // ждёт свободный слот
+            }
+        } catch (InterruptedException e) {
+            System.out.println(Thread.currentThread().getName() + ": прерван при ожидании свободного слота");
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package threads;
+
+import functions.Functions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+// Интегратор конвейера: забирает задачи из очереди порциями до batchSize штук
+// и завершается, получив TaskRecord.POISON или прерывание
+public class PipelineIntegrator implements Runnable {
+    private final BlockingQueue<TaskRecord> queue;
+    private final int batchSize;
+
+    public PipelineIntegrator(BlockingQueue<TaskRecord> queue, int batchSize) {
+        if (queue == null)
+            throw new IllegalArgumentException("Очередь не должна быть null");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Размер порции должен быть >= 1: " + batchSize);
+        this.queue = queue;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        List<TaskRecord> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                batch.clear();
+                batch.add(queue.take());                 // ждём хотя бы одну задачу
+                queue.drainTo(batch, batchSize - 1);     // и забираем остальные без ожидания
+                int poisons = 0;
+                for (TaskRecord task : batch) {
+                    if (task.isPoison()) {
+                        poisons++;
+                        continue;
+                    }
+                    try {
+                        double result = Functions.integral(task.function(), task.left(), task.right(), task.step());
+                        System.out.printf("[INT] task=%3d left=%.6f right=%.6f step=%.6f value=%.10f%n",
+                                task.number(), task.left(), task.right(), task.step(), result);
+                    } catch (RuntimeException e) {
+                        // Ошибка одной задачи не останавливает интегратор: иначе его маркер завершения
+                        // некому забрать, и конвейер ждёт вечно
+                        System.out.printf("[INT] task=%3d ошибка интегрирования: %s%n", task.number(), e);
+                    }
+                }
+                if (poisons > 0) {
+                    // Лишние маркеры, захваченные порцией, предназначены другим интеграторам
+                    for (int i = 1; i < poisons; ++i) queue.put(TaskRecord.POISON);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            System.out.println(Thread.currentThread().getName() + ": прерван при ожидании задачи");
+            Thread.currentThread().interrupt();
+        }
+        System.out.println(Thread.currentThread().getName() + ": завершение работы потока");
+    }
+}
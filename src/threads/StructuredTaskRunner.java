@@ -0,0 +1,157 @@
+package threads;
+
+import functions.Functions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Запуск задач генерации и интегрирования «по потоку на задачу» внутри структурированной области:
+ * метод возвращает управление только после завершения всех своих потоков, при ошибке или таймауте
+ * одной задачи остальные отменяются (ещё не начатые не стартуют, начатые получают прерывание).
+ * Результаты собираются в массив по номеру задачи, без общего монитора synchronized (task).
+ *
+ * На JDK 21+ каждая задача получает виртуальный поток (Executors.newVirtualThreadPerTaskExecutor
+ * ищется через рефлексию, чтобы код собирался и на JDK 17); на более старых JDK задачи выполняются
+ * в фиксированном пуле по числу процессоров — тысяча задач не создаёт тысячу платформенных потоков,
+ * а семантика отмены та же. Интегрирование проверяет прерывание между порциями узлов, поэтому
+ * отменённые задачи завершаются быстро; после отмены область ждёт свои потоки не дольше таймаута.
+ */
+public class StructuredTaskRunner {
+    private final long timeout;
+    private final TimeUnit unit;
+
+    public StructuredTaskRunner(long timeout, TimeUnit unit) {
+        if (timeout <= 0 || unit == null)
+            throw new IllegalArgumentException("Таймаут должен быть > 0");
+        this.timeout = timeout;
+        this.unit = unit;
+    }
+
+    // true, если задачи выполняются на виртуальных потоках
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    // Интегрирует все задачи, по одному потоку на задачу; results[i] соответствует tasks.get(i)
+    public double[] integrateAll(List<TaskRecord> tasks)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (tasks == null)
+            throw new IllegalArgumentException("Список задач не должен быть null");
+        double[] results = new double[tasks.size()];
+        List<Callable<Void>> jobs = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); ++i) {
+            int index = i;
+            TaskRecord task = tasks.get(i);
+            jobs.add(() -> {
+                results[index] = integrate(task);
+                return null;
+            });
+        }
+        runScope(jobs);
+        return results;
+    }
+
+    // Генерирует и интегрирует tasksCount случайных задач: каждая задача — отдельный поток,
+    // который сам создаёт свои параметры и печатает строки [GEN] и [INT]
+    public double[] generateAndIntegrate(int tasksCount)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (tasksCount <= 0)
+            throw new IllegalArgumentException("Количество заданий должно быть > 0: " + tasksCount);
+        double[] results = new double[tasksCount];
+        List<Callable<Void>> jobs = new ArrayList<>(tasksCount);
+        for (int i = 0; i < tasksCount; ++i) {
+            int index = i;
+            jobs.add(() -> {
+                TaskRecord task = PipelineGenerator.nextTask(index + 1, ThreadLocalRandom.current());
+                results[index] = integrate(task);
+                return null;
+            });
+        }
+        runScope(jobs);
+        return results;
+    }
+
+    private static double integrate(TaskRecord task) throws InterruptedException {
+        if (Thread.currentThread().isInterrupted())
+            throw new InterruptedException("Задача " + task.number() + " отменена");
+        double result = Functions.interruptibleIntegral(task.function(), task.left(), task.right(), task.step());
+        System.out.printf("[INT] task=%3d left=%.6f right=%.6f step=%.6f value=%.10f%n",
+                task.number(), task.left(), task.right(), task.step(), result);
+        return result;
+    }
+
+    // Структурированная область: все задачи стартуют, первая ошибка или истечение таймаута
+    // отменяют остальные; выход после завершения всех потоков области. Если потоки не завершились
+    // и за timeout после отмены, выбрасывается TimeoutException; исходная ошибка области при этом
+    // не теряется — проблемы ожидания добавляются к ней как suppressed
+    private void runScope(List<Callable<Void>> jobs)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        ExecutorService executor = newPerTaskExecutor();
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(jobs.size());
+        Throwable primary = null;
+        try {
+            for (Callable<Void> job : jobs) {
+                futures.add(completion.submit(job));
+            }
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            for (int done = 0; done < jobs.size(); ++done) {
+                Future<Void> finished = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (finished == null)
+                    throw new TimeoutException("Задачи не завершились за " + timeout + " " + unit);
+                finished.get(); // ExecutionException первой упавшей задачи
+            }
+        } catch (Throwable e) {
+            primary = e;
+            throw e;
+        } finally {
+            for (Future<Void> f : futures) f.cancel(true);
+            executor.shutdownNow();
+            awaitScope(executor, primary);
+        }
+    }
+
+    // Ждём завершения уже начатых вычислений: потоки не должны пережить область
+    private void awaitScope(ExecutorService executor, Throwable primary)
+            throws InterruptedException, TimeoutException {
+        Exception failure;
+        try {
+            if (executor.awaitTermination(timeout, unit))
+                return;
+            failure = new TimeoutException("Потоки области не завершились за " + timeout + " " + unit + " после отмены");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        }
+        if (primary != null) {
+            primary.addSuppressed(failure);
+            return;
+        }
+        if (failure instanceof InterruptedException e) throw e;
+        throw (TimeoutException) failure;
+    }
+}
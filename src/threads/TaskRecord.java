@@ -0,0 +1,15 @@
+package threads;
+
+import functions.Function;
+
+// Неизменяемая задача интегрирования для многослотовой очереди конвейера
+public record TaskRecord(int number, Function function, double left, double right, double step) {
+
+    // Маркер завершения («ядовитая пилюля»): получив его, интегратор заканчивает работу.
+    // Сравнивается только по ссылке
+    public static final TaskRecord POISON = new TaskRecord(-1, null, 0.0, 0.0, 0.0);
+
+    public boolean isPoison() {
+        return this == POISON;
+    }
+}